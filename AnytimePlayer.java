@@ -0,0 +1,381 @@
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Represents a computer player that deepens a negamax search until its time for the move is up.
+ *
+ * <p>The player always holds a legal column, starting with the one closest to the center, and replaces it
+ * whenever a deeper pass of the search finishes or finds a better column before it is cut off. The search
+ * checks the clock itself and stops just before the end of the move time, and another thread can stop it sooner with
+ * {@link #cancel()}, which sets the search's stop flag. Either way the best column so far is played. The clock
+ * and the flag are only checked every thousand nodes or so, so a move can come back a little late. How often
+ * that happens and by how much is recorded.
+ *
+ * <p>Connect four on a board that fits into one {@link BitBoard} is searched with {@link Negamax}. Any other
+ * board, such as a large one or one with another win length, is searched on a copy of the {@link Board} with
+ * {@link Board#placeDisc} and {@link Board#undoMove}. That search only tries columns within N - 1 of a column
+ * that already holds a disc, since a disc further away can not be part of a line with any of them yet, and it
+ * only scores wins and losses, so it plays the closest column to the last disc unless it sees a win or a threat.
+ *
+ * @author Caleb Brost
+ * @version 1.0
+ * @since 2025
+ */
+public class AnytimePlayer extends Player {
+    private static final int MAX_DEPTH = 64;
+    private static final int TABLE_SIZE_BITS = 20;
+    private static final long SAFETY_MARGIN_NANOS = 1000000; // stop this early to leave time to unwind
+    private static final int WIN_SCORE = 1000000; // score of a win on the next move, less one per move until it
+    private static final int CHECK_INTERVAL = 255; // nodes between checks of the clock and the stop flag
+
+    private final long budgetNanos;
+    private final TranspositionTable table = new TranspositionTable(TABLE_SIZE_BITS);
+    private volatile AtomicBoolean stop; // stop flag of the search in progress, null between moves
+    private long moves;
+    private long overruns;
+    private long totalOverrunNanos;
+    private long maxOverrunNanos;
+    private long lastNanos;
+    private long lastNodes;
+    private int lastDepth;
+
+    /**
+     * Constructor for the AnytimePlayer class.
+     *
+     * @param budgetMillis The wall-clock time to take for every move
+     */
+    public AnytimePlayer(long budgetMillis) {
+        super("Yellow");
+        this.budgetNanos = budgetMillis * 1000000L;
+    }
+
+    /**
+     * Gets the move for the anytime player
+     *
+     * @param board The current game board
+     * @return A Move object representing the player's move, or null if the board is full
+     */
+    @Override
+    public Move getMove(Board board) {
+        long start = System.nanoTime();
+        AtomicBoolean searchStop = new AtomicBoolean();
+        this.stop = searchStop;
+        int col = NegamaxPlayer.centerMostColumn(board);
+        this.lastDepth = 0;
+        this.lastNodes = 0;
+        long margin = Math.min(SAFETY_MARGIN_NANOS, this.budgetNanos / 4);
+        if (col >= 0 && board.hasBitBoard()) {
+            col = this.deepen(NegamaxPlayer.toBitBoard(board, this), col, searchStop, start + this.budgetNanos - margin);
+        } else if (col >= 0) {
+            col = this.deepen(board, col, searchStop, start + this.budgetNanos - margin);
+        }
+        this.stop = null;
+        this.record(System.nanoTime() - start);
+        return col < 0 ? null : new Move(col);
+    }
+
+    /**
+     * Deepens the search one move at a time until it is stopped, the board is full or the game is decided.
+     *
+     * @param bits The position with this player as player index 0
+     * @param fallback A legal column to play if not even the first pass finds one
+     * @param searchStop The flag that stops the search
+     * @param deadline The System.nanoTime value to stop at
+     * @return The best column found
+     */
+    private int deepen(BitBoard bits, int fallback, AtomicBoolean searchStop, long deadline) {
+        Negamax negamax = new Negamax(bits, this.table, searchStop, deadline);
+        int best = fallback;
+        for (int depth = 1; depth <= Math.min(MAX_DEPTH, bits.emptyCells()); depth++) {
+            int col = negamax.bestMove(depth, 0);
+            if (col >= 0) {
+                best = col; // a cut off pass only returns columns it searched to the full depth
+            }
+            if (negamax.isStopped()) {
+                break;
+            }
+            this.lastDepth = depth;
+            if (Negamax.isDecided(negamax.getLastScore())) {
+                break;
+            }
+        }
+        this.lastNodes = negamax.getNodes();
+        return best;
+    }
+
+    /**
+     * Deepens a search on a copy of a board that does not fit into one bitboard, one move at a time until it is
+     * stopped, the board is full or the game is decided.
+     *
+     * @param board The current game board
+     * @param fallback A legal column to play if not even the first pass finds one
+     * @param searchStop The flag that stops the search
+     * @param deadline The System.nanoTime value to stop at
+     * @return The best column found
+     */
+    private int deepen(Board board, int fallback, AtomicBoolean searchStop, long deadline) {
+        Player opponent = board.getOpponent(this);
+        if (opponent == null) {
+            return fallback; // the first disc of the game, where nothing is gained by looking ahead
+        }
+        BoardSearch search = new BoardSearch(new Board(board), this, opponent, searchStop, deadline);
+        if (search.columns.length == 0) {
+            return fallback;
+        }
+        long emptyCells = (long) board.getRows() * board.getColumns() - board.getMoveCount();
+        int best = fallback;
+        int first = search.columns[0];
+        for (int depth = 1; depth <= Math.min(MAX_DEPTH, emptyCells); depth++) {
+            int col = search.bestMove(depth, first);
+            if (col >= 0) {
+                best = col;
+                first = col;
+            }
+            if (search.stopped) {
+                break;
+            }
+            this.lastDepth = depth;
+            if (Math.abs(search.lastScore) >= WIN_SCORE - MAX_DEPTH) {
+                break;
+            }
+        }
+        this.lastNodes = search.nodes;
+        return best;
+    }
+
+    /**
+     * Records how long a move took and whether it went over the budget.
+     *
+     * @param nanos The time the move took
+     */
+    private void record(long nanos) {
+        this.lastNanos = nanos;
+        this.moves++;
+        long overrun = nanos - this.budgetNanos;
+        if (overrun > 0) {
+            this.overruns++;
+            this.totalOverrunNanos += overrun;
+            this.maxOverrunNanos = Math.max(this.maxOverrunNanos, overrun);
+        }
+    }
+
+    /**
+     * Stops the search in progress, if any, so the move in progress returns its best column right away.
+     * Can be called from any thread.
+     */
+    public void cancel() {
+        AtomicBoolean searchStop = this.stop;
+        if (searchStop != null) {
+            searchStop.set(true);
+        }
+    }
+
+    /**
+     * Gets the number of moves the player has made.
+     *
+     * @return The move count
+     */
+    public long getMoves() {
+        return this.moves;
+    }
+
+    /**
+     * Gets the number of moves that took longer than the budget.
+     *
+     * @return The overrun count
+     */
+    public long getOverruns() {
+        return this.overruns;
+    }
+
+    /**
+     * Gets the time all moves together took beyond the budget.
+     *
+     * @return The total overrun in nanoseconds
+     */
+    public long getTotalOverrunNanos() {
+        return this.totalOverrunNanos;
+    }
+
+    /**
+     * Gets the longest time a move took beyond the budget.
+     *
+     * @return The largest overrun in nanoseconds
+     */
+    public long getMaxOverrunNanos() {
+        return this.maxOverrunNanos;
+    }
+
+    /**
+     * Gets the deepest pass the search finished for the last move.
+     *
+     * @return The depth in moves
+     */
+    public int getLastDepth() {
+        return this.lastDepth;
+    }
+
+    /**
+     * Gets the number of positions searched for the last move.
+     *
+     * @return The node count
+     */
+    @Override
+    public long getLastNodes() {
+        return this.lastNodes;
+    }
+
+    /**
+     * Gets how long the last move took to find.
+     *
+     * @return The time in nanoseconds
+     */
+    public long getLastNanos() {
+        return this.lastNanos;
+    }
+
+    /**
+     * Returns the player type.
+     * @return 'Y' for Yellow player.
+     */
+    @Override
+    public char getPlayerType() {
+        return 'Y';
+    }
+
+    /**
+     * A depth-limited negamax search with alpha-beta pruning that plays and takes back discs on a board of any
+     * size, trying only the columns near the discs already played.
+     */
+    private static final class BoardSearch {
+        private final Board board;
+        private final Player player;
+        private final Player opponent;
+        private final AtomicBoolean stop;
+        private final long deadline;
+        private final int[] columns; // columns worth trying, closest to the last disc first
+        private boolean stopped;
+        private long nodes;
+        private int lastScore;
+
+        /**
+         * Constructs a new BoardSearch.
+         *
+         * @param board A copy of the game board, which the search plays on
+         * @param player The player to find a move for
+         * @param opponent The other player on the board
+         * @param stop The flag that stops the search
+         * @param deadline The System.nanoTime value to stop at
+         */
+        private BoardSearch(Board board, Player player, Player opponent, AtomicBoolean stop, long deadline) {
+            this.board = board;
+            this.player = player;
+            this.opponent = opponent;
+            this.stop = stop;
+            this.deadline = deadline;
+            this.columns = nearbyColumns(board);
+        }
+
+        /**
+         * Searches every candidate column to a depth, the best column of the last pass first.
+         *
+         * @param depth The number of moves to look ahead
+         * @param first The candidate column to search first
+         * @return The best column among those searched to the full depth, or -1 if none was
+         */
+        private int bestMove(int depth, int first) {
+            int best = -1;
+            int alpha = -WIN_SCORE - 1;
+            for (int i = -1; i < this.columns.length; i++) {
+                int col = i < 0 ? first : this.columns[i];
+                if ((i >= 0 && col == first) || this.board.isColumnFull(col)) {
+                    continue;
+                }
+                int score = this.scoreMove(col, this.player, this.opponent, depth, 1, alpha, WIN_SCORE + 1);
+                if (this.stopped) {
+                    break; // the score of a column cut off part way through can not be trusted
+                }
+                if (score > alpha) {
+                    alpha = score;
+                    best = col;
+                }
+            }
+            this.lastScore = alpha;
+            return best;
+        }
+
+        /**
+         * Plays a column, scores the position for the player who played it and takes the disc back.
+         *
+         * @param col The column to play, which must not be full
+         * @param mover The player to play the column
+         * @param other The player to move next
+         * @param depth The number of moves to look ahead, including this one
+         * @param ply The number of moves played since the root, including this one
+         * @param alpha The score the mover is already sure of elsewhere
+         * @param beta The score above which the other player avoids this position, from the mover's side
+         * @return The score for the mover, positive if the mover wins, or a bound once outside alpha and beta
+         */
+        private int scoreMove(int col, Player mover, Player other, int depth, int ply, int alpha, int beta) {
+            if ((++this.nodes & CHECK_INTERVAL) == 0
+                    && (this.stop.get() || System.nanoTime() - this.deadline >= 0)) {
+                this.stopped = true;
+            }
+            this.board.placeDisc(col, mover);
+            int score = 0;
+            if (this.board.findWinner(col, mover) != null) {
+                score = WIN_SCORE - ply;
+            } else if (depth > 1 && !this.stopped && !this.board.tie()) {
+                int best = -WIN_SCORE - 1; // for the other player
+                int otherAlpha = -beta;
+                for (int next : this.columns) {
+                    if (this.board.isColumnFull(next)) {
+                        continue;
+                    }
+                    int value = this.scoreMove(next, other, mover, depth - 1, ply + 1, otherAlpha, -alpha);
+                    best = Math.max(best, value);
+                    otherAlpha = Math.max(otherAlpha, value);
+                    if (otherAlpha >= -alpha || this.stopped) {
+                        break; // the mover already has a column at least this good
+                    }
+                }
+                score = best == -WIN_SCORE - 1 ? 0 : -best; // no column to try counts as a draw
+            }
+            this.board.undoMove();
+            return score;
+        }
+
+        /**
+         * Finds the columns that are not full and lie within N - 1 of a column holding a disc, ordered by their
+         * distance to the column of the last disc.
+         *
+         * @param board The game board, with at least one disc
+         * @return The candidate columns
+         */
+        private static int[] nearbyColumns(Board board) {
+            int cols = board.getColumns();
+            int reach = board.getConnect() - 1;
+            boolean[] near = new boolean[cols];
+            for (int i = 0; i < board.getMoveCount(); i++) {
+                int col = board.getMoveColumn(i);
+                for (int c = Math.max(0, col - reach); c <= Math.min(cols - 1, col + reach); c++) {
+                    near[c] = true;
+                }
+            }
+            int last = board.getPlayedColIndex();
+            int[] columns = new int[cols];
+            int count = 0;
+            for (int distance = 0; distance < cols; distance++) {
+                int left = last - distance;
+                int right = last + distance;
+                if (left >= 0 && near[left] && !board.isColumnFull(left)) {
+                    columns[count++] = left;
+                }
+                if (distance > 0 && right < cols && near[right] && !board.isColumnFull(right)) {
+                    columns[count++] = right;
+                }
+            }
+            return Arrays.copyOf(columns, count);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+import java.util.Arrays;
+
+/**
+ * Represents a connect four board packed into two 64-bit masks, one per player.
+ *
+ * <p>Each column takes up rows + 1 bits starting from the bottom cell. The extra bit on top of every
+ * column is never set, so shifting a mask can not carry a line over into the next column. This
+ * means only boards where cols * (rows + 1) is at most 64 fit into this layout.
+ *
+ * @author Caleb Brost
+ * @version 1.0
+ * @since 2025
+ */
+final class BitBoard {
+    private final int rows;
+    private final int cols;
+    private final int stride; // bits used by one column
+    private final long[] discs = new long[2]; // one mask per player
+    private final int[] heights; // number of discs in each column
+    private final long bottom; // bottom cell of every column
+    private final long full; // every cell on the board, without the separator bits
+    private int moves;
+
+    /**
+     * Creates an empty bitboard.
+     *
+     * @param rows The number of rows on the board
+     * @param cols The number of columns on the board
+     */
+    BitBoard(int rows, int cols) {
+        if (!fits(rows, cols)) {
+            throw new IllegalArgumentException("A " + rows + " x " + cols + " board does not fit in 64 bits");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.stride = rows + 1;
+        this.heights = new int[cols];
+        long bottomMask = 0L;
+        for (int col = 0; col < cols; col++) {
+            bottomMask |= 1L << (col * this.stride);
+        }
+        this.bottom = bottomMask;
+        this.full = bottomMask * ((1L << rows) - 1);
+    }
+
+    /**
+     * Creates a copy of another bitboard, so a search thread can work on its own board.
+     *
+     * @param other The bitboard to copy
+     */
+    BitBoard(BitBoard other) {
+        this(other.rows, other.cols);
+        this.discs[0] = other.discs[0];
+        this.discs[1] = other.discs[1];
+        System.arraycopy(other.heights, 0, this.heights, 0, this.cols);
+        this.moves = other.moves;
+    }
+
+    /**
+     * Checks whether a board of the given size can be stored in a single bitboard.
+     *
+     * @param rows The number of rows on the board
+     * @param cols The number of columns on the board
+     * @return Returns true if every column and its separator bit fit into 64 bits
+     */
+    static boolean fits(int rows, int cols) {
+        return rows > 0 && cols > 0 && (long) (rows + 1) * cols <= Long.SIZE;
+    }
+
+    /**
+     * Gets the number of discs in a column.
+     *
+     * @param col The column index
+     * @return The number of discs played in the column
+     */
+    int height(int col) {
+        return this.heights[col];
+    }
+
+    /**
+     * Checks whether a column is full.
+     *
+     * @param col The column index
+     * @return Returns true if no more discs fit into the column
+     */
+    boolean isColumnFull(int col) {
+        return this.heights[col] == this.rows;
+    }
+
+    /**
+     * Gets the number of discs on the board.
+     *
+     * @return The number of discs played so far
+     */
+    int getMoves() {
+        return this.moves;
+    }
+
+    /**
+     * Gets the number of cells that are still empty.
+     *
+     * @return The number of empty cells
+     */
+    int emptyCells() {
+        return this.rows * this.cols - this.moves;
+    }
+
+    /**
+     * Gets the number of columns on the board.
+     *
+     * @return The number of columns
+     */
+    int getColumns() {
+        return this.cols;
+    }
+
+    /**
+     * Checks whether every cell on the board holds a disc.
+     *
+     * @return Returns true if the board is full
+     */
+    boolean isFull() {
+        return this.emptyCells() == 0;
+    }
+
+    /**
+     * Drops a disc for a player on top of a column. The column must not be full.
+     *
+     * @param col The column index
+     * @param side The player index, 0 or 1
+     */
+    void play(int col, int side) {
+        this.discs[side] |= 1L << (col * this.stride + this.heights[col]);
+        this.heights[col]++;
+        this.moves++;
+    }
+
+    /**
+     * Takes the top disc back out of a column. The column must not be empty.
+     *
+     * @param col The column index
+     */
+    void undo(int col) {
+        this.heights[col]--;
+        this.moves--;
+        long bit = ~(1L << (col * this.stride + this.heights[col]));
+        this.discs[0] &= bit;
+        this.discs[1] &= bit;
+    }
+
+    /**
+     * Gets a key that is different for every position and player to move.
+     *
+     * <p>Every column of the occupied mask is a run of ones from the bottom, so adding the discs of one player
+     * gives a number that still fits below the separator bit and tells both masks apart.
+     *
+     * @param side The player index to move next
+     * @return A unique key for the position
+     */
+    long key(int side) {
+        return this.discs[side] + (this.discs[0] | this.discs[1]);
+    }
+
+    /**
+     * Gets the empty cells that would give a player four in a row, whether or not they can be played yet.
+     *
+     * @param side The player index
+     * @return A mask of the winning empty cells
+     */
+    long winningCells(int side) {
+        long position = this.discs[side];
+        long open = this.full & ~(this.discs[0] | this.discs[1]);
+
+        // vertical, only the cell on top of three discs
+        long cells = (position << 1) & (position << 2) & (position << 3);
+
+        // horizontal and both diagonals, with the gap at any of the four cells
+        for (int shift = this.stride - 1; shift <= this.stride + 1 && 3 * shift < Long.SIZE; shift++) {
+            long pair = (position << shift) & (position << (2 * shift));
+            cells |= pair & (position << (3 * shift));
+            cells |= pair & (position >>> shift);
+            pair = (position >>> shift) & (position >>> (2 * shift));
+            cells |= pair & (position << shift);
+            cells |= pair & (position >>> (3 * shift));
+        }
+        return cells & open;
+    }
+
+    /**
+     * Gets the cells where the next disc can be dropped, one per column that is not full.
+     *
+     * @return A mask of the playable cells
+     */
+    long playable() {
+        return ((this.discs[0] | this.discs[1]) + this.bottom) & this.full;
+    }
+
+    /**
+     * Gets the mask of a single cell.
+     *
+     * @param col The column index
+     * @param height The number of discs below the cell
+     * @return A mask with only the cell set
+     */
+    long cell(int col, int height) {
+        return 1L << (col * this.stride + height);
+    }
+
+    /**
+     * Gets the player index of the disc at a location.
+     *
+     * @param row The row index, where row 0 is the top of the board
+     * @param col The column index
+     * @return The player index 0 or 1, or -1 if the cell is empty
+     */
+    int get(int row, int col) {
+        long bit = 1L << (col * this.stride + (this.rows - 1 - row));
+        if ((this.discs[0] & bit) != 0) {
+            return 0;
+        }
+        if ((this.discs[1] & bit) != 0) {
+            return 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Checks whether a player has four discs in a row anywhere on the board.
+     *
+     * @param side The player index, 0 or 1
+     * @return Returns true if the player has four in a row
+     */
+    boolean connected(int side) {
+        long mask = this.discs[side];
+        return aligned(mask, 1) // vertical
+            || aligned(mask, this.stride) // horizontal
+            || aligned(mask, this.stride - 1) // diagonal going down to the right
+            || aligned(mask, this.stride + 1); // diagonal going up to the right
+    }
+
+    /**
+     * Removes every disc from the board.
+     */
+    void clear() {
+        this.discs[0] = 0L;
+        this.discs[1] = 0L;
+        Arrays.fill(this.heights, 0);
+        this.moves = 0;
+    }
+
+    /**
+     * Checks a mask for four set bits spaced evenly apart.
+     *
+     * @param mask The discs of a single player
+     * @param shift The distance in bits between two neighbouring cells in one direction
+     * @return Returns true if four neighbouring cells are set
+     */
+    private static boolean aligned(long mask, int shift) {
+        if (3 * shift >= Long.SIZE) { // four cells this far apart never fit on the board
+            return false;
+        }
+        long pairs = mask & (mask >>> shift);
+        return (pairs & (pairs >>> (2 * shift))) != 0;
+    }
+}
@@ -1,11 +1,21 @@
-// import BoardShow;
-
-import javax.swing.JOptionPane;
+import java.util.Arrays;
 
 /**
  * Represents a simple connect four board with adding disc operations.
  *
  * <p>This class provides methods to add discs and check win conditions and the state of the board.
+ * A player wins with a configurable number of discs in a row, four unless told otherwise. Connect four boards
+ * small enough to fit into 64 bits are stored as a {@link BitBoard}, which the search players work on directly.
+ * Larger boards and other win lengths are stored as a {@link WideBitBoard} spread over as many words as needed,
+ * and boards with more cells than that should spend memory on are stored as a {@link SparseBoard} that only
+ * keeps the discs played.
+ *
+ * <p>The board keeps a 64-bit Zobrist hash of its discs up to date as they are played. The random key of each
+ * cell is derived from its index instead of being stored in a table, so the hash works for any board size and
+ * is the same from one run to the next.
+ *
+ * <p>The board does not depend on Swing. Invalid moves, full columns and quits are reported through the
+ * return values of its methods and to an optional {@link BoardListener}.
  *
  * @author Caleb Brost
  * @version 1.0
@@ -13,35 +23,86 @@ import javax.swing.JOptionPane;
  */
 public final class Board {
     private static final int DEFAULT_BOARD_SIZE = 6;
+    private static final int DEFAULT_CONNECT = 4;
+    private static final long SPARSE_CELLS = 1L << 24; // boards with more cells only store the discs played
     
-    Player[][] grid; 
+    private final BitBoard bits; // null unless this is connect four on a board that fits into 64 bits
+    private final DiscStore cells; // used when bits is null
+    private final int connect; // discs in a row needed to win
+    private final Player[] players = new Player[2]; // maps bitboard player indices to players
     private int rows;
     private int cols;
     private int playedRowIndex;
     private int playedColIndex;
-    private JOptionPane frame; 
+    private long hash; // Zobrist hash of the discs on the board
+    private long[] history; // row and column of every disc played, oldest first
+    private int moveCount; // number of discs played
+    private BoardListener listener; // null when nobody listens for board events
     
     /**
-    * Creates a new board with a defult size of 6 x 6 stored in a two demensional array and tracks the last played disc location.
+    * Creates a new connect four board of the given size and tracks the last played disc location.
+    */
+    public Board(int rows, int cols) {
+        this(rows, cols, DEFAULT_CONNECT);
+    }
+
+    /**
+    * Creates a new board of the given size where a player needs a number of discs in a row to win.
+    *
+    * @param rows The number of rows on the board
+    * @param cols The number of columns on the board
+    * @param connect The number of discs in a row needed to win, at least 1
     */
-    public Board(int rows, int cols, JOptionPane frame) {
+    public Board(int rows, int cols, int connect) {
+        if (connect < 1) {
+            throw new IllegalArgumentException("A win needs at least one disc in a row, not " + connect);
+        }
         setRows(rows); // width of grid
         setCols(cols); // height of grid
-        this.grid = new Player[getRows()][getColumns()]; // grid to store discs
+        this.connect = connect;
+        boolean single = connect == DEFAULT_CONNECT && BitBoard.fits(rows, cols);
+        this.bits = single ? new BitBoard(rows, cols) : null; // bitboard to store discs
+        if (single) {
+            this.cells = null;
+        } else if ((long) rows * cols > SPARSE_CELLS) {
+            this.cells = new SparseBoard(rows, cols, connect); // only the discs played on huge boards
+        } else {
+            this.cells = new WideBitBoard(rows, cols, connect); // multi-word bitboard otherwise
+        }
         this.playedRowIndex = 0; // tracks last played row
         this.playedColIndex = 0; // tracks last played column
-        this.frame = frame;
+        this.history = new long[(int) Math.min((long) rows * cols, 64)]; // grows as discs are played
     }
 
     /**
     * Creates a new board with a defult size of 6 x 6 stored in a two demensional array and tracks the last played disc location.
     */
     public Board() {
-        setRows(DEFAULT_BOARD_SIZE); // width of grid
-        setCols(DEFAULT_BOARD_SIZE); // height of grid
-        this.grid = new Player[getRows()][getColumns()]; // grid to store discs
-        this.playedRowIndex = 0; // tracks last played row
-        this.playedColIndex = 0; // tracks last played column
+        this(DEFAULT_BOARD_SIZE, DEFAULT_BOARD_SIZE);
+    }
+
+    /**
+    * Creates a copy of another board by replaying its move history, so the copy has the same discs, hash,
+    * history and last played disc. The listener is not copied.
+    *
+    * @param other The board to copy
+    */
+    public Board(Board other) {
+        this(other.getRows(), other.getColumns(), other.connect);
+        for (int i = 0; i < other.moveCount; i++) {
+            long move = other.history[i];
+            int col = (int) move;
+            this.placeDisc(col, other.getPlayerAtLocation((int) (move >>> 32), col));
+        }
+    }
+
+    /**
+    * Sets the listener that is told about invalid moves, full columns and quits.
+    *
+    * @param listener The listener to notify, or null to play silently
+    */
+    public void setListener(BoardListener listener) {
+        this.listener = listener;
     }
 
     /**
@@ -62,6 +123,24 @@ public final class Board {
         return this.cols;
     }
 
+    /**
+    * Gets the number of discs in a row a player needs to win.
+    *
+    * @return the win length
+    */
+    public int getConnect() {
+        return this.connect;
+    }
+
+    /**
+    * Checks whether the discs are kept in a single {@link BitBoard}, which is what the search players work on.
+    *
+    * @return Returns true if this is connect four on a board that fits into 64 bits
+    */
+    boolean hasBitBoard() {
+        return this.bits != null;
+    }
+
     /**
     * Sets the number of rows on the board.
     *
@@ -84,10 +163,16 @@ public final class Board {
     * Initializes each value in the board grid with 'o' chars.
     */
     public void initialize(){
-        for (int i=0; i < this.rows; i++) {
-            for (int j=0; j < this.cols; j++) {
-                this.grid[i][j] = null;
-            }
+        this.players[0] = null;
+        this.players[1] = null;
+        this.hash = 0L;
+        this.moveCount = 0;
+        this.playedRowIndex = 0;
+        this.playedColIndex = 0;
+        if (this.bits != null) {
+            this.bits.clear();
+        } else {
+            this.cells.clear();
         }
     }
 
@@ -101,9 +186,10 @@ public final class Board {
             System.out.print("-");
         }
         System.out.print("#");
-        for (Player[] row : this.grid) {
+        for (int i = 0; i < this.rows; i++) {
             System.out.print("\n| "); // Changed this
-            for (Player element : row) {
+            for (int j = 0; j < this.cols; j++) {
+                Player element = this.getPlayerAtLocation(i, j);
                 if (element == null) {
                     System.out.print("o ");
                 } else {
@@ -124,30 +210,178 @@ public final class Board {
      *
      * @param col The column index to add the disc into
      * @param player The player object that is playing the disc
+     * @return Returns true if the disc was added
      */
     public boolean makeMove(int col, Player player) {
+        if (Metrics.ENABLED) {
+            long start = System.nanoTime();
+            boolean placed = this.placeDisc(col, player);
+            Metrics.boardMove(System.nanoTime() - start);
+            return placed;
+        }
+        return this.placeDisc(col, player);
+    }
+
+    /**
+     * Adds a disc into the board in a specificed column, without timing it. Search players use this for the
+     * moves they try out, so {@link Metrics} only times the discs of the game itself.
+     *
+     * @param col The column index to add the disc into
+     * @param player The player object that is playing the disc
+     * @return Returns true if the disc was added
+     */
+    boolean placeDisc(int col, Player player) {
         // Check if the column is valid
         if (col < 0 || col >= this.cols) {
-            JOptionPane.showMessageDialog(frame, "Error: Column index out of bounds");
+            if (this.listener != null) {
+                this.listener.invalidColumn(col);
+            }
             return false;
         }
         // Check if there are any more spaces to play on the board or game quit
         if (this.tie()) {
             return false;
         }
-    
-        // Add disc to the board at the specified column
-        for (int i = this.rows - 1; i >= 0; i--) { // Start from the bottom row
-            if (this.grid[i][col] == null) { // Find the first empty spot
-                this.grid[i][col] = player; // Place the disc
-                this.playedRowIndex = i; // Update last played row
-                this.playedColIndex = col; // Update last played column
-                return true;
+
+        // Add disc to the bitboard on top of the column
+        if (this.isColumnFull(col)) {
+            if (this.listener != null) {
+                this.listener.columnFull(col);
             }
+            return false;
         }
-        // Column full
-        JOptionPane.showMessageDialog(frame, "Column " + (col + 1) + " is full! Please try again\n");
-        return false;
+        int side = this.sideOf(player);
+        this.playedColIndex = col; // Update last played column
+        if (this.bits != null) {
+            this.playedRowIndex = this.rows - 1 - this.bits.height(col); // Update last played row
+            this.bits.play(col, side);
+        } else {
+            this.playedRowIndex = this.rows - 1 - this.cells.height(col);
+            this.cells.play(col, side);
+        }
+        this.hash ^= this.zobristKey(side, this.playedRowIndex, col);
+        this.pushHistory();
+        return true;
+    }
+
+    /**
+     * Takes back the last disc played, restoring the last played row and column trackers and the hash to what
+     * they were before it was played. Runs in constant time, so search players can play and take back moves on
+     * a single board instead of copying it.
+     *
+     * @return Returns false if there are no discs on the board to take back
+     */
+    public boolean undoMove() {
+        if (this.moveCount == 0) {
+            return false;
+        }
+        long last = this.history[--this.moveCount];
+        int row = (int) (last >>> 32);
+        int col = (int) last;
+
+        // Remove the disc from the board
+        if (this.bits != null) {
+            this.hash ^= this.zobristKey(this.bits.get(row, col), row, col);
+            this.bits.undo(col);
+        } else {
+            this.hash ^= this.zobristKey(this.cells.get(row, col), row, col);
+            this.cells.undo(col);
+        }
+
+        // Track the disc played before it
+        if (this.moveCount > 0) {
+            long previous = this.history[this.moveCount - 1];
+            this.playedRowIndex = (int) (previous >>> 32);
+            this.playedColIndex = (int) previous;
+        } else {
+            this.playedRowIndex = 0;
+            this.playedColIndex = 0;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of discs played on the board.
+     *
+     * @return The number of moves made since the board was initialized
+     */
+    public int getMoveCount() {
+        return this.moveCount;
+    }
+
+    /**
+     * Gets the column a disc was played in, from the move history.
+     *
+     * @param index The number of discs played before it, from 0 to the move count minus one
+     * @return The column index of the disc
+     */
+    public int getMoveColumn(int index) {
+        if (index < 0 || index >= this.moveCount) {
+            throw new IndexOutOfBoundsException("No move " + index + " on a board with " + this.moveCount + " moves");
+        }
+        return (int) this.history[index];
+    }
+
+    /**
+     * Gets a copy of the bitboard holding the discs, where player index 0 is the player who moved first.
+     *
+     * @return A new bitboard, or null if the discs are kept in a {@link DiscStore}
+     */
+    BitBoard copyBits() {
+        return this.bits == null ? null : new BitBoard(this.bits);
+    }
+
+    /**
+     * Records the last played row and column on the move history, growing it when it is full.
+     */
+    private void pushHistory() {
+        if (this.moveCount == this.history.length) {
+            this.history = Arrays.copyOf(this.history, this.history.length * 2);
+        }
+        this.history[this.moveCount++] = ((long) this.playedRowIndex << 32) | this.playedColIndex;
+    }
+
+    /**
+     * Gets the Zobrist hash of the discs on the board, kept up to date by every move.
+     *
+     * @return The 64-bit position hash
+     */
+    public long getHash() {
+        return this.hash;
+    }
+
+    /**
+     * Computes the Zobrist hash of the discs on the board from scratch by visiting every cell.
+     * This always equals {@link #getHash()} and is only useful for checking it.
+     *
+     * @return The 64-bit position hash
+     */
+    public long computeHash() {
+        long result = 0L;
+        for (int i = 0; i < this.rows; i++) {
+            for (int j = 0; j < this.cols; j++) {
+                Player disc = this.getPlayerAtLocation(i, j);
+                if (disc != null) {
+                    result ^= this.zobristKey(disc == this.players[0] ? 0 : 1, i, j);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the random key of a player's disc in a cell by scrambling the cell index with the SplitMix64 mixer.
+     *
+     * @param side The player index, 0 or 1
+     * @param row The row index of the cell
+     * @param col The column index of the cell
+     * @return The key to xor into the hash
+     */
+    private long zobristKey(int side, int row, int col) {
+        long z = (((long) row * this.cols + col) * 2 + side + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
     }
 
     /**
@@ -158,7 +392,60 @@ public final class Board {
      * @return The player at the specified location
      */
     public Player getPlayerAtLocation(int row, int col) {
-        return this.grid[row][col];
+        int side = this.bits != null ? this.bits.get(row, col) : this.cells.get(row, col);
+        return side < 0 ? null : this.players[side];
+    }
+
+    /**
+     * Hands every disc of a player over to another player, so a player that did not play them can think about
+     * the position as its own. Takes constant time.
+     *
+     * @param player The player whose discs to hand over, which need not have played yet
+     * @param replacement The player to take them over, which must not have played on this board
+     */
+    void replacePlayer(Player player, Player replacement) {
+        for (int side = 0; side < this.players.length; side++) {
+            if (this.players[side] == player) {
+                this.players[side] = replacement;
+            }
+        }
+    }
+
+    /**
+     * Gets the other player that has played on this board.
+     *
+     * @param player One of the players
+     * @return The player's opponent, or null if the opponent has not played yet
+     */
+    public Player getOpponent(Player player) {
+        if (this.players[0] == player) {
+            return this.players[1];
+        }
+        return this.players[0];
+    }
+
+    /**
+     * Gets the bitboard index of a player, assigning the next free index the first time the player plays.
+     *
+     * @param player The player to look up
+     * @return The index 0 or 1 of the player
+     */
+    private int sideOf(Player player) {
+        if (this.players[0] == player) {
+            return 0;
+        }
+        if (this.players[1] == player) {
+            return 1;
+        }
+        if (this.players[0] == null) {
+            this.players[0] = player;
+            return 0;
+        }
+        if (this.players[1] == null) {
+            this.players[1] = player;
+            return 1;
+        }
+        throw new IllegalArgumentException("Only two players can play on a board");
     }
     
     /**
@@ -172,6 +459,24 @@ public final class Board {
         this.playedColIndex = col;
     }
 
+    /**
+     * Gets the row of the last played disc.
+     *
+     * @return The row index of the last played disc, or 0 if no disc has been played
+     */
+    public int getPlayedRowIndex() {
+        return this.playedRowIndex;
+    }
+
+    /**
+     * Gets the column of the last played disc.
+     *
+     * @return The column index of the last played disc, or 0 if no disc has been played
+     */
+    public int getPlayedColIndex() {
+        return this.playedColIndex;
+    }
+
     /**
      * Checks the condition of the board to see if a player won or to quit the game
      *
@@ -180,22 +485,40 @@ public final class Board {
      * @return A boolean that states whether a player won or not
      */
     public Player win(int col, Player player) {
+        if (Metrics.ENABLED) {
+            long start = System.nanoTime();
+            Player winner = this.findWinner(col, player);
+            Metrics.boardWin(System.nanoTime() - start);
+            return winner;
+        }
+        return this.findWinner(col, player);
+    }
+
+    /**
+     * Checks the condition of the board to see if a player won or to quit the game, without timing it. Search
+     * players use this for the moves they try out, like {@link #placeDisc}.
+     *
+     * @param col The column index to see if player quit the game
+     * @param player The player object that is playing the disc to output the correct winner
+     * @return The player if they won, otherwise null
+     */
+    Player findWinner(int col, Player player) {
         // quit the game logic
         if (col == -1) {
-            JOptionPane.showMessageDialog(frame, "You quit the game");
-            JOptionPane.showMessageDialog(frame, "\nThanks for playing!");
+            if (this.listener != null) {
+                this.listener.quit();
+            }
             return null;
 
-        // check winner logic
-        } else if (
-            Board.checkConnection(this.getPlayedRow()) ||
-            Board.checkConnection(this.getPlayedCol()) ||
-            Board.checkConnection(this.getPlayedLeftDiagonal()) ||
-            Board.checkConnection(this.getPlayedRightDiagonal())
-        ) {
-            return player;
+        // check winner logic on the bitboard
+        } else if (this.bits != null) {
+            int side = this.bits.get(this.playedRowIndex, this.playedColIndex);
+            return side >= 0 && this.bits.connected(side) ? player : null;
         }
-        return null;
+
+        // check winner logic around the last played disc
+        int side = this.cells.get(this.playedRowIndex, this.playedColIndex);
+        return side >= 0 && this.cells.connected(this.playedRowIndex, this.playedColIndex, side) ? player : null;
     }
 
     /**
@@ -204,7 +527,12 @@ public final class Board {
      * @return Returns the character array of the row that the player last played in
      */
     public Player[] getPlayedRow() {
-        return this.grid[this.playedRowIndex];
+        Player[] rowArray = new Player[this.cols];
+
+        for (int i=0; i < this.cols; i++) {
+            rowArray[i] = this.getPlayerAtLocation(this.playedRowIndex, i);
+        }
+        return rowArray;
     }
 
     /**
@@ -216,7 +544,7 @@ public final class Board {
         Player[] colArray = new Player[this.rows];
 
         for (int i=0; i < this.rows; i++) {
-            colArray[i] = this.grid[i][this.playedColIndex];
+            colArray[i] = this.getPlayerAtLocation(i, this.playedColIndex);
         }
         return colArray;
     }
@@ -233,7 +561,7 @@ public final class Board {
         int startY = this.playedRowIndex - sub;
         int startX = this.playedColIndex - sub;
 
-        int size = this.rows - Math.max(startY, startX); // calculate the size of the array to store the diagonal elements
+        int size = Math.min(this.rows - startY, this.cols - startX); // calculate the size of the array to store the diagonal elements
 
         Player[] result = new Player[size];
 
@@ -241,7 +569,7 @@ public final class Board {
 
         // Iterate backwards through the diagonal and add the elemets into the return array
         while (startY <= this.rows-1 && startX <= this.cols-1) {
-            result[i] = this.grid[startY][startX];
+            result[i] = this.getPlayerAtLocation(startY, startX);
             startY++;
             startX++;
             i++;
@@ -273,7 +601,7 @@ public final class Board {
         
         // Fill the result array with diagonal elements (bottom-left to top-right)
         for (int i = 0; i < size; i++) {
-            result[i] = this.grid[startY - i][startX + i];
+            result[i] = this.getPlayerAtLocation(startY - i, startX + i);
         }
         
         return result;
@@ -285,11 +613,28 @@ public final class Board {
      * @return Returns true if there are four of the same colour discs in a row
      */
     public static boolean checkConnection(Player[] array){
+        return checkConnection(array, DEFAULT_CONNECT);
+    }
+
+    /**
+     * This method checks an parameter array for a number of the same discs in a row
+     * 
+     * @param array This is the array that holds the discs that potencially could have a line
+     * @param length The number of discs in a row to look for
+     * @return Returns true if there are that many of the same colour discs in a row
+     */
+    public static boolean checkConnection(Player[] array, int length){
 
         int pattern = 1;
 
         // return short for optimization
-        if (array.length < 4) return false; // It's impossible to have four in a row if there are less than four entries 
+        if (array.length < length) return false; // It's impossible to have a line longer than the array
+        if (length <= 1) { // a single disc is a line of one
+            for (Player element : array) {
+                if (element != null) return true;
+            }
+            return false;
+        }
 
         // Loop through array
         for (int i=0; i < (array.length-1); i++) { 
@@ -300,11 +645,11 @@ public final class Board {
             // take first and second element and increment counter if they are the same
             if (firstElement == secondElement && (firstElement != null)) {
                 pattern++; // add to the pattern if they are the same
-                if (pattern == 4) return true; // if there is row in a row
+                if (pattern == length) return true; // if there is a line long enough
             }
             else pattern = 1; // set the pattern back to 1 since there was a symbol that did not match the pattern
         }
-        return false; // otherwise there is not four in a row
+        return false; // otherwise there is no line long enough
     }
 
     /**
@@ -313,13 +658,10 @@ public final class Board {
      * @return Returns true if the top row is full of discs 
      */
     public boolean tie(){
-        // checks if the first row in the grid is full of discs
-        for (Player element : this.grid[0]) {
-            if (element == null){
-                return false;
-            }
+        if (this.bits != null) {
+            return this.bits.isFull();
         }
-        return true;
+        return this.cells.isFull();
     }
 
     /**
@@ -329,6 +671,9 @@ public final class Board {
      * @return Returns true if the column is full
      */
     public boolean isColumnFull(int column) {
-        return this.grid[0][column] != null;
+        if (this.bits != null) {
+            return this.bits.isColumnFull(column);
+        }
+        return this.cells.isColumnFull(column);
     }
 }
\ No newline at end of file
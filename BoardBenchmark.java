@@ -0,0 +1,160 @@
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Measures the throughput and allocation of the board and player hot paths.
+ *
+ * <p>Run with {@code java BoardBenchmark [iterationMillis] [benchmarkName]}. Every benchmark is warmed up and
+ * then measured over several timed iterations on each board size. The allocation figure is read from the
+ * thread's allocated bytes counter, like the gc profiler of a benchmark framework would report it, and is
+ * printed per operation so a change that starts allocating shows up right away.
+ *
+ * @author Caleb Brost
+ * @version 1.0
+ * @since 2025
+ */
+public final class BoardBenchmark {
+    private static final int[][] SIZES = { // rows, cols, connect
+        {6, 6, 4}, {6, 7, 4}, {20, 20, 4}, {100, 100, 4}, {15, 15, 5}, {100, 100, 6}};
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURED_ITERATIONS = 5;
+    private static final int BATCH = 256; // operations between two clock reads
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static long sink; // keeps results alive so the JIT can not drop the work
+
+    private BoardBenchmark() {
+    }
+
+    /**
+     * Runs every benchmark on every board size.
+     *
+     * @param args Optional milliseconds per iteration and the name of a single benchmark to run
+     */
+    public static void main(String[] args) {
+        long iterationMillis = args.length > 0 ? Long.parseLong(args[0]) : 1000;
+        String only = args.length > 1 ? args[1] : null;
+
+        System.out.printf("%-16s %9s %16s %10s%n", "benchmark", "size", "ops/sec", "bytes/op");
+        for (int[] size : SIZES) {
+            int rows = size[0];
+            int cols = size[1];
+            int connect = size[2];
+            String label = rows + "x" + cols + (connect == 4 ? "" : "c" + connect);
+            Player mover = new RandomPlayer();
+            Board board = halfFullBoard(rows, cols, connect, mover, new RandomPlayer());
+            Player[] row = board.getPlayedRow();
+            RandomPlayer randomPlayer = new RandomPlayer();
+            Board gameBoard = new Board(rows, cols, connect);
+            Player first = new RandomPlayer();
+            Player second = new RandomPlayer();
+            RolloutPlayer rolloutPlayer = new RolloutPlayer(1);
+            RolloutPlayer rolloutFirst = new RolloutPlayer(2);
+            RolloutPlayer rolloutSecond = rolloutFirst.split();
+            int[] nextCol = {0};
+
+            run(only, "makeMove+undo", label, iterationMillis, () -> {
+                // play and take back a disc so the board stays the same between operations
+                int col = nextCol[0]++ % cols;
+                if (board.makeMove(col, mover)) {
+                    board.undoMove();
+                }
+                return col;
+            });
+            run(only, "win", label, iterationMillis, () -> board.win(0, mover) == null ? 0 : 1);
+            run(only, "checkConnection", label, iterationMillis, () -> Board.checkConnection(row, connect) ? 1 : 0);
+            run(only, "tie", label, iterationMillis, () -> board.tie() ? 1 : 0);
+            run(only, "randomGetMove", label, iterationMillis, () -> randomPlayer.getMove(board).getColumn());
+            run(only, "randomGame", label, iterationMillis, () -> {
+                gameBoard.initialize();
+                return HeadlessGame.play(gameBoard, first, second) == first ? 1 : 0;
+            });
+            run(only, "rolloutGetMove", label, iterationMillis, () -> rolloutPlayer.getMove(board).getColumn());
+            run(only, "rolloutGame", label, iterationMillis, () -> {
+                gameBoard.initialize();
+                return HeadlessGame.play(gameBoard, rolloutFirst, rolloutSecond) == rolloutFirst ? 1 : 0;
+            });
+        }
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+
+    /**
+     * Builds a board with half of its cells filled by two players taking random turns, with a fixed seed.
+     *
+     * @param rows The number of rows on the board
+     * @param cols The number of columns on the board
+     * @param connect The number of discs in a row needed to win
+     * @param red The player to move first
+     * @param yellow The player to move second
+     * @return The half full board
+     */
+    private static Board halfFullBoard(int rows, int cols, int connect, Player red, Player yellow) {
+        Board board = new Board(rows, cols, connect);
+        SplittableRandom random = new SplittableRandom(rows * 1000L + cols);
+        for (int i = 0; i < rows * cols / 2; i++) {
+            int col = random.nextInt(cols);
+            while (board.isColumnFull(col)) {
+                col = (col + 1) % cols;
+            }
+            board.makeMove(col, i % 2 == 0 ? red : yellow);
+        }
+        return board;
+    }
+
+    /**
+     * Warms up and measures one benchmark, then prints its throughput and allocation per operation.
+     *
+     * @param only The only benchmark name to run, or null to run all of them
+     * @param name The name of the benchmark
+     * @param size The board size, with the win length if it is not four
+     * @param iterationMillis The length of one iteration
+     * @param operation The operation to measure
+     */
+    private static void run(String only, String name, String size, long iterationMillis, LongSupplier operation) {
+        if (only != null && !only.equals(name)) {
+            return;
+        }
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            iteration(iterationMillis, operation);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long operations = 0;
+        long nanos = 0;
+        long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            operations += iteration(iterationMillis, operation);
+            nanos += System.nanoTime() - start;
+        }
+        long allocated = THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        System.out.printf("%-16s %9s %16.0f %10.1f%n", name, size,
+            operations / (nanos / 1e9), (double) allocated / operations);
+    }
+
+    /**
+     * Runs an operation in batches until the iteration time is up.
+     *
+     * @param iterationMillis The length of the iteration
+     * @param operation The operation to run
+     * @return The number of operations run
+     */
+    private static long iteration(long iterationMillis, LongSupplier operation) {
+        long end = System.nanoTime() + iterationMillis * 1000000L;
+        long operations = 0;
+        long result = 0;
+        do {
+            for (int i = 0; i < BATCH; i++) {
+                result += operation.getAsLong();
+            }
+            operations += BATCH;
+        } while (System.nanoTime() < end);
+        sink += result;
+        return operations;
+    }
+}
@@ -0,0 +1,205 @@
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.function.IntConsumer;
+import javax.swing.JComponent;
+import javax.swing.UIManager;
+
+/**
+ * Paints a whole game board on one component, for boards too large for a button per cell.
+ *
+ * <p>The canvas keeps its own copy of the discs in a {@link SparseBoard}, so its memory grows with the discs
+ * played rather than with the area of the board, and only paints the cells inside the area Swing asks it to
+ * repaint. After a single move only the rectangle of the new disc is repainted. Clicks are turned into columns by
+ * dividing by the cell size, so the cost of drawing and clicking does not grow with the number of cells on the
+ * board.
+ *
+ * @author Caleb Brost
+ * @version 1.0
+ * @since 2025
+ */
+class BoardCanvas extends JComponent {
+    private static final long serialVersionUID = 1L;
+    private static final int RED = 0;
+    private static final int YELLOW = 1;
+
+    private final int rows;
+    private final int cols;
+    private final SparseBoard discs; // RED or YELLOW for every disc shown
+    private int shownMoves; // discs on the board the last time it was shown
+    private float thickness = 1;
+
+    /**
+     * Constructs a new BoardCanvas with every cell empty.
+     *
+     * @param rows The number of rows on the board
+     * @param cols The number of columns on the board
+     * @param columnClicked Called with the column index whenever a cell is clicked
+     */
+    BoardCanvas(int rows, int cols, IntConsumer columnClicked) {
+        this.rows = rows;
+        this.cols = cols;
+        this.discs = new SparseBoard(rows, cols, 1); // only used to look up discs, never to find a win
+        setOpaque(true);
+        setBackground(UIManager.getColor("Panel.background"));
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                int col = columnAt(e.getX());
+                if (col >= 0) {
+                    columnClicked.accept(col);
+                }
+            }
+        });
+    }
+
+    /**
+     * Copies the discs of a board and repaints what changed. A board with one more disc than last time only
+     * repaints the cell of that disc, anything else copies every disc again by replaying the moves of the board
+     * and repaints the whole board.
+     *
+     * @param board The current game board
+     */
+    void update(Board board) {
+        int moves = board.getMoveCount();
+        if (moves == this.shownMoves + 1) {
+            int row = board.getPlayedRowIndex();
+            int col = board.getPlayedColIndex();
+            this.discs.play(col, colorOf(board.getPlayerAtLocation(row, col)));
+            this.shownMoves = moves;
+            repaint(this.cellBounds(row, col));
+            return;
+        }
+        this.discs.clear();
+        for (int i = 0; i < moves; i++) {
+            int col = board.getMoveColumn(i);
+            int row = this.rows - 1 - this.discs.height(col);
+            this.discs.play(col, colorOf(board.getPlayerAtLocation(row, col)));
+        }
+        this.shownMoves = moves;
+        repaint();
+    }
+
+    /**
+     * Sets the thickness of the lines around the cells.
+     *
+     * @param thickness The thickness of the lines
+     */
+    void setThickness(float thickness) {
+        this.thickness = thickness;
+        repaint();
+    }
+
+    /**
+     * Gets the column under a horizontal position on the canvas.
+     *
+     * @param x The horizontal position in pixels
+     * @return The column index, or -1 if the position is beside the board
+     */
+    int columnAt(int x) {
+        int size = this.cellSize();
+        int offset = x - this.left(size);
+        if (offset < 0 || offset >= size * this.cols) {
+            return -1;
+        }
+        return offset / size;
+    }
+
+    /**
+     * Gets the area a cell is painted in.
+     *
+     * @param row The row index
+     * @param col The column index
+     * @return The bounds of the cell in pixels
+     */
+    Rectangle cellBounds(int row, int col) {
+        int size = this.cellSize();
+        return new Rectangle(this.left(size) + col * size, this.top(size) + row * size, size, size);
+    }
+
+    /**
+     * Paints the cells inside the area being repainted.
+     *
+     * @param g The Graphics context used for painting
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        g.setColor(getBackground());
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        int size = this.cellSize();
+        int left = this.left(size);
+        int top = this.top(size);
+        int firstRow = Math.max(0, (clip.y - top) / size);
+        int lastRow = Math.min(this.rows - 1, (clip.y + clip.height - 1 - top) / size);
+        int firstCol = Math.max(0, (clip.x - left) / size);
+        int lastCol = Math.min(this.cols - 1, (clip.x + clip.width - 1 - left) / size);
+        int gap = Math.min(10, size / 4);
+        int diameter = size - gap;
+        ((Graphics2D) g).setStroke(new BasicStroke(this.thickness));
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                int x = left + col * size;
+                int y = top + row * size;
+                int disc = this.discs.get(row, col);
+                g.setColor(disc == RED ? Color.RED : disc == YELLOW ? Color.YELLOW : Color.WHITE);
+                g.fillOval(x + gap / 2, y + gap / 2, diameter, diameter);
+                g.setColor(Color.BLACK);
+                if (size >= 6) { // outlines would cover cells this small
+                    g.drawOval(x + gap / 2, y + gap / 2, diameter, diameter);
+                }
+                if (this.thickness > 0) {
+                    g.drawRect(x, y, size, size);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the side of a square cell so that the whole board fits on the canvas.
+     *
+     * @return The cell size in pixels, at least 1
+     */
+    private int cellSize() {
+        return Math.max(1, Math.min(getWidth() / this.cols, getHeight() / this.rows));
+    }
+
+    /**
+     * Gets the left edge of the board, which is centered on the canvas.
+     *
+     * @param size The cell size in pixels
+     * @return The horizontal position in pixels
+     */
+    private int left(int size) {
+        return Math.max(0, (getWidth() - size * this.cols) / 2);
+    }
+
+    /**
+     * Gets the top edge of the board, which is centered on the canvas.
+     *
+     * @param size The cell size in pixels
+     * @return The vertical position in pixels
+     */
+    private int top(int size) {
+        return Math.max(0, (getHeight() - size * this.rows) / 2);
+    }
+
+    /**
+     * Gets the color stored for the disc of a player.
+     *
+     * @param player The player who played the disc
+     * @return RED or YELLOW
+     */
+    private static int colorOf(Player player) {
+        return player.getPlayerType() == 'R' ? RED : YELLOW;
+    }
+}
@@ -0,0 +1,201 @@
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Checks the board against plain reference code on random games, for every way the board can store its discs.
+ *
+ * <p>Each game plays random columns within a narrow window so lines form even on huge boards, and now and then
+ * takes a disc back. The discs are mirrored in a plain map, and after every step the checker makes sure that:
+ * <ul>
+ *   <li>{@link Board#win} agrees with a naive scan that walks every line of N cells starting at every disc,</li>
+ *   <li>the cell just played reads back as the player who played it,</li>
+ *   <li>{@link Board#getHash} equals the hash computed from scratch by {@link Board#computeHash}, and taking a
+ *   disc back restores the hash from before it was played.</li>
+ * </ul>
+ * The sizes cover the single {@link BitBoard}, the {@link WideBitBoard} for large boards and other win lengths,
+ * and the {@link SparseBoard} for boards with more than 2^24 cells. On boards too large to hash from scratch
+ * after every step, the hash is checked at the end of every game instead, and fewer games are played.
+ *
+ * <p>Run with {@code java BoardCheck [games] [seed]}. A mismatch stops the run with an exception describing the
+ * game, so the exit status tells whether the board is right.
+ *
+ * @author Caleb Brost
+ * @version 1.0
+ * @since 2025
+ */
+public final class BoardCheck {
+    private static final int[][] SIZES = { // rows, cols, connect
+        {6, 6, 4}, {6, 7, 4}, // BitBoard
+        {8, 8, 4}, {6, 7, 5}, {20, 20, 5}, {100, 100, 6}, // WideBitBoard
+        {4096, 4097, 4}, {5000, 5000, 6}}; // SparseBoard
+    private static final long SCAN_CELLS = 1L << 12; // larger boards are only hashed from scratch once per game
+    private static final int MAX_MOVES = 600; // moves per game on boards that take long to fill
+    private static final int UNDO_PERCENT = 20;
+
+    private BoardCheck() {
+    }
+
+    /**
+     * Checks every board size and prints what was covered.
+     *
+     * @param args Optional number of games per size and random seed
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+        SplittableRandom random = new SplittableRandom(seed);
+
+        System.out.printf("%-12s %7s %9s %8s %7s%n", "size", "games", "moves", "undos", "wins");
+        for (int[] size : SIZES) {
+            int rows = size[0];
+            int cols = size[1];
+            int connect = size[2];
+            boolean small = (long) rows * cols <= SCAN_CELLS;
+            int sizeGames = small ? games : Math.max(10, games / 100);
+            long[] counts = new long[3]; // moves, undos, wins
+            Board board = new Board(rows, cols, connect);
+            for (int game = 0; game < sizeGames; game++) {
+                board.initialize();
+                checkGame(board, random, small, counts);
+            }
+            String label = rows + "x" + cols + (connect == 4 ? "" : "c" + connect);
+            System.out.printf("%-12s %7d %9d %8d %7d%n", label, sizeGames, counts[0], counts[1], counts[2]);
+        }
+        System.out.println("All checks passed");
+    }
+
+    /**
+     * Plays one random game, checking the board after every step.
+     *
+     * @param board An empty board
+     * @param random The source of the moves
+     * @param hashEveryStep Whether to hash the board from scratch after every step or only at the end
+     * @param counts The moves, undos and wins so far, updated by the game
+     */
+    private static void checkGame(Board board, SplittableRandom random, boolean hashEveryStep, long[] counts) {
+        int rows = board.getRows();
+        int cols = board.getColumns();
+        Player[] players = {new RandomPlayer(), new RandomPlayer()};
+        Map<Long, Player> discs = new HashMap<>();
+        long[] hashes = new long[MAX_MOVES + 1]; // hash before every move still on the board
+        int width = Math.min(cols, 2 * board.getConnect() + 1);
+        int start = random.nextInt(cols - width + 1);
+
+        for (int step = 0; step < 4 * MAX_MOVES && board.getMoveCount() < MAX_MOVES && !board.tie(); step++) {
+            int moves = board.getMoveCount();
+            if (moves > 0 && random.nextInt(100) < UNDO_PERCENT) {
+                int col = board.getPlayedColIndex();
+                int row = board.getPlayedRowIndex();
+                board.undoMove();
+                discs.remove(key(row, col, cols));
+                counts[1]++;
+                expect(board.getHash() == hashes[moves - 1], board, "undo did not restore the hash");
+                if (moves > 1) { // the disc before did not win, or the game would have ended
+                    Player last = players[(moves - 2) % 2];
+                    expect(board.win(board.getPlayedColIndex(), last) == null, board, "win after undo");
+                }
+            } else {
+                int col = start + random.nextInt(width);
+                if (board.isColumnFull(col)) {
+                    col = anyOpenColumn(board, random);
+                }
+                Player mover = players[moves % 2];
+                hashes[moves] = board.getHash();
+                expect(board.makeMove(col, mover), board, "legal move in column " + col + " refused");
+                int row = board.getPlayedRowIndex();
+                discs.put(key(row, col, cols), mover);
+                counts[0]++;
+                expect(board.getPlayerAtLocation(row, col) == mover, board, "disc not found at " + row + "," + col);
+                boolean won = board.win(col, mover) == mover;
+                expect(won == naiveWin(discs, rows, cols, board.getConnect(), mover), board,
+                    "win() says " + won + " after a disc at " + row + "," + col);
+                if (won) {
+                    counts[2]++;
+                    break;
+                }
+            }
+            if (hashEveryStep) {
+                expect(board.getHash() == board.computeHash(), board, "incremental hash differs");
+            }
+        }
+        expect(board.getHash() == board.computeHash(), board, "incremental hash differs at the end of the game");
+    }
+
+    /**
+     * Checks for N discs of a player in a row by trying every line that starts at one of the player's discs.
+     *
+     * @param discs Every disc on the board by cell key
+     * @param rows The number of rows on the board
+     * @param cols The number of columns on the board
+     * @param connect The number of discs in a row needed to win
+     * @param player The player to look for
+     * @return Returns true if the player has N in a row anywhere on the board
+     */
+    private static boolean naiveWin(Map<Long, Player> discs, int rows, int cols, int connect, Player player) {
+        int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+        for (Map.Entry<Long, Player> disc : discs.entrySet()) {
+            if (disc.getValue() != player) {
+                continue;
+            }
+            int row = (int) (disc.getKey() / cols);
+            int col = (int) (disc.getKey() % cols);
+            for (int[] direction : directions) {
+                int count = 0;
+                int r = row;
+                int c = col;
+                while (count < connect && r >= 0 && r < rows && c >= 0 && c < cols
+                        && discs.get(key(r, c, cols)) == player) {
+                    count++;
+                    r += direction[0];
+                    c += direction[1];
+                }
+                if (count == connect) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Picks a random column that is not full, from the whole board.
+     *
+     * @param board A board that is not full
+     * @param random The source of the column
+     * @return The column index
+     */
+    private static int anyOpenColumn(Board board, SplittableRandom random) {
+        int col = random.nextInt(board.getColumns());
+        while (board.isColumnFull(col)) {
+            col = (col + 1) % board.getColumns();
+        }
+        return col;
+    }
+
+    /**
+     * Gets the map key of a cell.
+     *
+     * @param row The row index
+     * @param col The column index
+     * @param cols The number of columns on the board
+     * @return The key
+     */
+    private static long key(int row, int col, int cols) {
+        return (long) row * cols + col;
+    }
+
+    /**
+     * Stops the check if a condition does not hold.
+     *
+     * @param condition The condition
+     * @param board The board it was checked on
+     * @param message What went wrong
+     */
+    private static void expect(boolean condition, Board board, String message) {
+        if (!condition) {
+            throw new IllegalStateException(message + " on a " + board.getRows() + " x " + board.getColumns()
+                + " connect " + board.getConnect() + " board after " + board.getMoveCount() + " moves");
+        }
+    }
+}
@@ -0,0 +1,30 @@
+/**
+ * Receives the events a board reports while discs are played.
+ *
+ * <p>The board itself never talks to the user. A game with a window plugs in a {@link DialogBoardListener},
+ * while headless games can leave the listener unset and rely on the return values of the board methods.
+ *
+ * @author Caleb Brost
+ * @version 1.0
+ * @since 2025
+ */
+public interface BoardListener {
+    /**
+     * Called when a disc is played in a column that does not exist on the board.
+     *
+     * @param col The column index that was played
+     */
+    void invalidColumn(int col);
+
+    /**
+     * Called when a disc is played in a column that has no empty cells left.
+     *
+     * @param col The column index that was played
+     */
+    void columnFull(int col);
+
+    /**
+     * Called when a player quits the game.
+     */
+    void quit();
+}
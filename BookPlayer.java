@@ -0,0 +1,88 @@
+/**
+ * Represents a negamax player that plays the first moves of a game from an opening book.
+ *
+ * <p>Every move is first looked up in the book, which takes a few microseconds. Once the game leaves the book,
+ * or on a board of a different size, the player searches like a {@link NegamaxPlayer}.
+ *
+ * @author Caleb Brost
+ * @version 1.0
+ * @since 2025
+ */
+public class BookPlayer extends NegamaxPlayer {
+    private final OpeningBook book;
+    private boolean lastFromBook;
+    private long lastLookupNanos;
+
+    /**
+     * Constructor for the BookPlayer class that searches up to the default depth outside the book.
+     *
+     * @param book The opening book to play from
+     */
+    public BookPlayer(OpeningBook book) {
+        super();
+        this.book = book;
+    }
+
+    /**
+     * Constructor for the BookPlayer class.
+     *
+     * @param book The opening book to play from
+     * @param maxDepth The number of moves to look ahead outside the book
+     */
+    public BookPlayer(OpeningBook book, int maxDepth) {
+        super(maxDepth);
+        this.book = book;
+    }
+
+    /**
+     * Gets the move for the book player
+     *
+     * @param board The current game board
+     * @return A Move object representing the player's move, or null if the board is full
+     */
+    @Override
+    public Move getMove(Board board) {
+        long start = System.nanoTime();
+        int col = this.bookColumn(board);
+        this.lastLookupNanos = System.nanoTime() - start;
+        this.lastFromBook = col >= 0;
+        return col >= 0 ? new Move(col) : super.getMove(board);
+    }
+
+    /**
+     * Looks up the best column of a board in the book.
+     *
+     * @param board The current game board
+     * @return The column index, or -1 if the position is not in the book
+     */
+    private int bookColumn(Board board) {
+        if (!board.hasBitBoard() || board.getRows() != this.book.getRows()
+                || board.getColumns() != this.book.getColumns() || board.getMoveCount() > this.book.getMaxPlies()) {
+            return -1;
+        }
+        int record = this.book.find(toBitBoard(board, this).key(0));
+        if (record < 0) {
+            return -1;
+        }
+        int col = this.book.column(record);
+        return board.isColumnFull(col) ? -1 : col;
+    }
+
+    /**
+     * Checks whether the last move came from the book.
+     *
+     * @return Returns true if the last position was found in the book
+     */
+    public boolean wasLastFromBook() {
+        return this.lastFromBook;
+    }
+
+    /**
+     * Gets how long the last book lookup took, whether or not it found the position.
+     *
+     * @return The time in nanoseconds
+     */
+    public long getLastLookupNanos() {
+        return this.lastLookupNanos;
+    }
+}
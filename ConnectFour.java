@@ -1,4 +1,13 @@
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
 /**
  * Represents a the connect four game which contains the main game loop.
  *
@@ -9,35 +18,50 @@ import javax.swing.JOptionPane;
  * @since 2025
  */
 public class ConnectFour {
+    private static final Executor EDT = SwingUtilities::invokeLater; // runs stages on the event dispatch thread
+    private static final String DEFAULT_OPPONENT = "negamax"; // searches ahead while the human thinks
+    private static final String DEFAULT_LARGE_OPPONENT = "random"; // for boards negamax can not search
 
      /**
      * The main game loop that controls the game's execution.
      * <p>
      * This loop runs continuously during the game. The loop continues until the game is over or the user exits.
+     * <p>
+     * Run with {@code java ConnectFour [rows cols [connect]] [opponent]}, where the opponent is described as for
+     * {@link Tournament#players}. The default opponent is a negamax player, which ponders on the human's time, on
+     * boards small enough for it to search, and a random player on larger boards or other win lengths.
      *
      * @param args Command-line arguments passed to the program
      */
     public static void main(String[] args){
         JOptionPane frame = new JOptionPane("Connect Four");
 
+        // The opponent is the last argument if it is not a number
+        String opponent = null;
+        if (args.length > 0 && !args[args.length - 1].matches("-?\\d+")) {
+            opponent = args[args.length - 1];
+            args = Arrays.copyOf(args, args.length - 1);
+        }
+
         // Initialize board based on command-line arguments
         Board board;
         
         // Check the number of command-line arguments
-        if (args.length == 2) {
-            // Two arguments provided, parse them
+        if (args.length == 2 || args.length == 3) {
+            // Two or three arguments provided, parse them
             try {
                 int rows = Integer.parseInt(args[0]);
                 int cols = Integer.parseInt(args[1]);
+                int connect = args.length == 3 ? Integer.parseInt(args[2]) : 4;
     
                 // Validate the input
-                if (rows <= 0 || cols <= 0) {
-                    JOptionPane.showMessageDialog(frame, "Error: rows and cols must be greater than zero");
+                if (rows <= 0 || cols <= 0 || connect <= 0) {
+                    JOptionPane.showMessageDialog(frame, "Error: rows, cols and connect must be greater than zero");
                     System.exit(1);
                     return; // Exit the method
                 }
     
-                board = new Board(rows, cols, frame); // Initialize with specified size
+                board = new Board(rows, cols, connect); // Initialize with specified size and win length
             } catch (NumberFormatException e) {
                 JOptionPane.showMessageDialog(frame, "Error: Please provide valid integers for rows and columns.");
                 System.exit(1);
@@ -45,7 +69,7 @@ public class ConnectFour {
             }
         } else if (args.length != 0) {
             // Incorrect number of arguments
-            JOptionPane.showMessageDialog(frame, "Usage: java ConnectFour [rows] [cols]");
+            JOptionPane.showMessageDialog(frame, "Usage: java ConnectFour [rows] [cols] [connect] [opponent]");
             System.exit(1);
             return; // Exit the method
         } else {
@@ -54,115 +78,193 @@ public class ConnectFour {
         }
     
         board.initialize(); // Fill the board
+        board.setListener(new DialogBoardListener(frame)); // Show board errors in dialogs
 
         // Create a GUIHumanPlayer instead of HumanPlayer
-        GUIHumanPlayer humanPlayer = new GUIHumanPlayer(frame);
-        RandomPlayer randomPlayer = new RandomPlayer(frame);
+        GUIHumanPlayer humanPlayer = new GUIHumanPlayer();
+        if (opponent == null) {
+            opponent = board.hasBitBoard() ? DEFAULT_OPPONENT : DEFAULT_LARGE_OPPONENT;
+        }
+        Player computerPlayer;
+        try {
+            computerPlayer = Tournament.players(opponent, System.nanoTime()).get();
+        } catch (IllegalArgumentException e) {
+            JOptionPane.showMessageDialog(frame, "Error: " + e.getMessage()
+                + "\nOpponents: random, rollout, negamax[:depth], mcts[:millis], anytime[:millis]");
+            System.exit(1);
+            return; // Exit the method
+        }
 
-        // Replace the BoardShow with GUIBoard
-        GUIBoard guiBoard = new GUIBoard(board, "Connect Four Game", humanPlayer, randomPlayer);
+        // Replace the BoardShow with GUIBoard, created on the event dispatch thread like every other Swing call
+        GUIBoard guiBoard = onEdt(() -> new GUIBoard(board, "Connect Four Game", humanPlayer, computerPlayer));
 
 
         // Set the GUIBoard in the GUIHumanPlayer
         humanPlayer.setGUIBoard(guiBoard);
 
         // Update the board display
-        guiBoard.updateBoard(board);
-        guiBoard.resetSelectedRowAndColumn();
+        onEdt(() -> {
+            guiBoard.updateBoard(board);
+            guiBoard.resetSelectedRowAndColumn();
+        });
         
-        JOptionPane.showMessageDialog(frame, "\nWelcome to Connect Four!"); // Welcome message
+        onEdt(() -> JOptionPane.showMessageDialog(frame, "\nWelcome to Connect Four!")); // Welcome message
 
-        runGame(humanPlayer, randomPlayer, guiBoard, board, frame);
+        runSession(humanPlayer, computerPlayer, guiBoard, board, frame);
+        computerPlayer.close();
+        onEdt(() -> JOptionPane.showMessageDialog(frame, "Thanks for playing!"));
+        System.exit(0);
     }
 
     /**
-     * Asks the player if they want to play again and handles the response.
-     * If the player chooses to play again, creates a new game with a fresh board.
-     * If the player chooses not to play again, exits the application.
+     * Plays games until the player does not want to play again.
      *
-     * @param board The current game board
+     * <p>A session is a loop rather than a chain of calls, so the call stack stays the same from one game to the
+     * next. The board, the players, the window and the engine thread are created once and reset for every game,
+     * so a long session keeps the same heap and thread count.
+     *
+     * @param humanPlayer The player that moves first in every game
+     * @param computerPlayer The player that moves second in every game
+     * @param guiBoard The graphical user interface for the game board
+     * @param board The game board
      * @param frame The JOptionPane for displaying messages
      */
-    public static void playAgain(Board board, JOptionPane frame) {
-        int response = JOptionPane.showConfirmDialog(frame, "Would you like to play again?", "Play Again", JOptionPane.YES_NO_OPTION);
-        if (response == JOptionPane.YES_OPTION) {
-            // Create a new board with the same dimensions
-            Board newBoard = new Board(board.getRows(), board.getColumns(), frame);
-            newBoard.initialize(); // Initialize the new board
-            
-            // Create new players and GUI
-            GUIHumanPlayer humanPlayer = new GUIHumanPlayer(frame);
-            RandomPlayer randomPlayer = new RandomPlayer(frame);
-            GUIBoard guiBoard = new GUIBoard(newBoard, "Connect Four Game", humanPlayer, randomPlayer);
-            
-            // Set the GUIBoard in the GUIHumanPlayer
-            humanPlayer.setGUIBoard(guiBoard);
-            
-            // Update the board display
-            guiBoard.updateBoard(newBoard);
-            
-            // Start a new game
-            runGame(humanPlayer, randomPlayer, guiBoard, newBoard, frame);
-        }
-        else {
-            JOptionPane.showMessageDialog(frame, "Thanks for playing!");
-            System.exit(0);
+    public static void runSession(Player humanPlayer, Player computerPlayer, GUIBoard guiBoard, Board board, JOptionPane frame) {
+        ExecutorService engine = newEngine();
+        try {
+            do {
+                String message = runGame(humanPlayer, computerPlayer, guiBoard, board, engine);
+                onEdt(() -> JOptionPane.showMessageDialog(frame, message));
+            } while (playAgain(frame));
+        } finally {
+            engine.shutdownNow();
         }
     }
 
     /**
-     * Runs the main game loop for Connect Four.
-     * Alternates between human player and random player turns, checking for win or tie conditions after each move.
-     * If a win or tie occurs, prompts the player to play again.
+     * Creates the engine thread of a session, the one daemon thread computer players think on.
+     *
+     * @return The executor to pass to {@link #runGame}, to be shut down when the session ends
+     */
+    public static ExecutorService newEngine() {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connect-four-engine");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Asks the player if they want to play again.
      *
-     * @param humanPlayer The human player (red)
-     * @param randomPlayer The computer player (yellow)
-     * @param guiBoard The graphical user interface for the game board
-     * @param board The game board
      * @param frame The JOptionPane for displaying messages
+     * @return Returns true if the player chose to play again
      */
-    public static void runGame(GUIHumanPlayer humanPlayer, RandomPlayer randomPlayer, GUIBoard guiBoard, Board board, JOptionPane frame) {
-      while (true) {
-        // Human player turn
-        Move move = humanPlayer.getMove(board); // Get move column index
-        if (move == null) { // Check if the player wants to quit
-            JOptionPane.showMessageDialog(frame, "Thanks for playing!");
-            playAgain(board, frame);
-            return; // Exit the method to avoid NullPointerException
-        }
-        
-        // Proceed with the game logic only if move is not null
-        board.makeMove(move.getColumn(), humanPlayer); // Play a piece
-        guiBoard.updateBoard(board); // Display board
-    
-        if (board.win(move.getColumn(), humanPlayer) != null) {
-            JOptionPane.showMessageDialog(frame, humanPlayer.getName() + " Won! \nThanks for playing!");
-            playAgain(board, frame);
-            guiBoard.resetSelectedRowAndColumn();
-        }
+    public static boolean playAgain(JOptionPane frame) {
+        int response = onEdt(() -> JOptionPane.showConfirmDialog(frame, "Would you like to play again?", "Play Again", JOptionPane.YES_NO_OPTION));
+        return response == JOptionPane.YES_OPTION;
+    }
 
-        else if (board.tie()) {
-            JOptionPane.showMessageDialog(frame, "It's a tie! \nThanks for playing!");
-            playAgain(board, frame);
-            guiBoard.resetSelectedRowAndColumn();
-        }
-    
-        // Player 2 turn (Random Player)
-        Move randomMove = randomPlayer.getMove(board); // Get move column index
-        board.makeMove(randomMove.getColumn(), randomPlayer); // Play a piece
-        guiBoard.updateBoard(board); // Display board
-    
-        if (board.win(randomMove.getColumn(), randomPlayer) != null) {
-            JOptionPane.showMessageDialog(frame, randomPlayer.getName() + " Won! \nThanks for playing!");
-            playAgain(board, frame);
-            guiBoard.resetSelectedRowAndColumn();
+    /**
+     * Clears the board and plays one game of Connect Four on it.
+     * Alternates between the two players' turns, checking for win or tie conditions after each move.
+     *
+     * <p>The game runs as a chain of asynchronous moves. The board is only changed on the event dispatch thread,
+     * the computer player thinks on its own thread with a copy of the board, and waiting for a click blocks no
+     * thread at all, so the window stays responsive while the computer thinks. The calling thread only waits
+     * for the game to end.
+     *
+     * @param first The player to move first, such as the human player (red)
+     * @param second The player to move second, such as a RandomPlayer or a NegamaxPlayer
+     * @param guiBoard The graphical user interface for the game board
+     * @param board The game board, cleared before the game starts
+     * @param engine The executor computer players think on
+     * @return The message to show now that the game is over
+     */
+    public static String runGame(Player first, Player second, GUIBoard guiBoard, Board board, Executor engine) {
+        onEdt(() -> {
+            board.initialize(); // reuse the board and the window of the last game
+            guiBoard.updateBoard(board);
+        });
+        return CompletableFuture.supplyAsync(() -> turn(first, second, guiBoard, board, engine), EDT)
+            .thenCompose(game -> game)
+            .join();
+    }
+
+    /**
+     * Asks a player for a move and, once it arrives on the event dispatch thread, plays it and starts the next
+     * turn. The other player ponders while it waits, and its pondering is stopped on the engine thread, since
+     * stopping waits for the ponder search to finish.
+     *
+     * @param mover The player to move
+     * @param other The player to move after this turn
+     * @param guiBoard The graphical user interface for the game board
+     * @param board The game board, only changed on the event dispatch thread
+     * @param engine The executor computer players think on
+     * @return A future that completes with the message to show when the game is over
+     */
+    private static CompletableFuture<String> turn(Player mover, Player other, GUIBoard guiBoard, Board board, Executor engine) {
+        if (mover instanceof GUIHumanPlayer) {
+            guiBoard.setCurrentPlayer(mover);
+        } else {
+            guiBoard.setThinking(mover); // show that the computer is working on its move
         }
+        other.ponder(board); // think ahead on the mover's time
+        return mover.requestMove(new Board(board), engine).thenApplyAsync(move -> {
+            other.stopPondering(); // waits for the ponder search, so never on the event dispatch thread
+            return move;
+        }, engine).thenComposeAsync(move -> {
+            if (move == null) { // Check if the player wants to quit
+                Metrics.gameEnd(board, null);
+                return CompletableFuture.completedFuture("Thanks for playing!");
+            }
+            if (!board.makeMove(move.getColumn(), mover)) { // Ask again, the listener has shown what was wrong
+                return turn(mover, other, guiBoard, board, engine);
+            }
+            guiBoard.updateBoard(board); // Display board
 
-        else if (board.tie()) {
-            JOptionPane.showMessageDialog(frame, "It's a tie! \nThanks for playing!");
-            playAgain(board, frame);
-            guiBoard.resetSelectedRowAndColumn();
+            if (board.win(move.getColumn(), mover) != null) {
+                Metrics.gameEnd(board, mover);
+                return CompletableFuture.completedFuture(mover.getName() + " Won! \nThanks for playing!");
+            } else if (board.tie()) {
+                Metrics.gameEnd(board, null);
+                return CompletableFuture.completedFuture("It's a tie! \nThanks for playing!");
+            }
+            return turn(other, mover, guiBoard, board, engine);
+        }, EDT);
+    }
+
+    /**
+     * Runs a task on the event dispatch thread and waits for it to finish.
+     *
+     * @param task The task to run
+     */
+    private static void onEdt(Runnable task) {
+        onEdt(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs a task on the event dispatch thread and waits for its result.
+     *
+     * @param task The task to run
+     * @param <T> The type of the result
+     * @return The result of the task
+     */
+    private static <T> T onEdt(Supplier<T> task) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            return task.get();
+        }
+        AtomicReference<T> result = new AtomicReference<>();
+        try {
+            SwingUtilities.invokeAndWait(() -> result.set(task.get()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("A GUI task failed", e.getCause());
         }
-      }
+        return result.get();
     }
-}
\ No newline at end of file
+}
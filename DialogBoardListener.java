@@ -0,0 +1,50 @@
+import javax.swing.JOptionPane;
+
+/**
+ * Shows board events to the user with Swing message dialogs.
+ *
+ * @author Caleb Brost
+ * @version 1.0
+ * @since 2025
+ */
+public class DialogBoardListener implements BoardListener {
+    private final JOptionPane frame;
+
+    /**
+     * Constructor for the DialogBoardListener class.
+     *
+     * @param frame The JOptionPane used for displaying messages
+     */
+    public DialogBoardListener(JOptionPane frame) {
+        this.frame = frame;
+    }
+
+    /**
+     * Tells the user that the column does not exist.
+     *
+     * @param col The column index that was played
+     */
+    @Override
+    public void invalidColumn(int col) {
+        JOptionPane.showMessageDialog(frame, "Error: Column index out of bounds");
+    }
+
+    /**
+     * Tells the user that the column is full.
+     *
+     * @param col The column index that was played
+     */
+    @Override
+    public void columnFull(int col) {
+        JOptionPane.showMessageDialog(frame, "Column " + (col + 1) + " is full! Please try again\n");
+    }
+
+    /**
+     * Says goodbye to the user after they quit.
+     */
+    @Override
+    public void quit() {
+        JOptionPane.showMessageDialog(frame, "You quit the game");
+        JOptionPane.showMessageDialog(frame, "\nThanks for playing!");
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Holds the discs of a {@link Board} that is not kept in a single {@link BitBoard}.
+ *
+ * <p>Rows are counted from the top of the board like everywhere in {@link Board}, heights from the bottom of a
+ * column. Players are the indices 0 and 1 that the board assigns in the order they first play.
+ *
+ * @author Caleb Brost
+ * @version 1.0
+ * @since 2025
+ */
+interface DiscStore {
+    /**
+     * Gets the number of discs in a column.
+     *
+     * @param col The column index
+     * @return The number of discs played in the column
+     */
+    int height(int col);
+
+    /**
+     * Checks whether a column is full.
+     *
+     * @param col The column index
+     * @return Returns true if no more discs fit into the column
+     */
+    boolean isColumnFull(int col);
+
+    /**
+     * Checks whether every cell on the board holds a disc.
+     *
+     * @return Returns true if the board is full
+     */
+    boolean isFull();
+
+    /**
+     * Drops a disc for a player on top of a column. The column must not be full.
+     *
+     * @param col The column index
+     * @param side The player index, 0 or 1
+     */
+    void play(int col, int side);
+
+    /**
+     * Takes the top disc back out of a column. The column must not be empty.
+     *
+     * @param col The column index
+     */
+    void undo(int col);
+
+    /**
+     * Gets the player index of the disc at a location.
+     *
+     * @param row The row index, where row 0 is the top of the board
+     * @param col The column index
+     * @return The player index 0 or 1, or -1 if the cell is empty
+     */
+    int get(int row, int col);
+
+    /**
+     * Checks whether a player has a line of N discs through a cell, which after a move tells whether the disc
+     * just played won the game.
+     *
+     * @param row The row index of the cell, where row 0 is the top of the board
+     * @param col The column index of the cell
+     * @param side The player index, 0 or 1
+     * @return Returns true if the player has N in a row through the cell
+     */
+    boolean connected(int row, int col, int side);
+
+    /**
+     * Removes every disc from the board.
+     */
+    void clear();
+}
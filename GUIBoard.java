@@ -1,21 +1,30 @@
 import java.awt.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntConsumer;
 import javax.swing.*;
 
 /**
  * Represents a graphical user interface for the Connect Four game board.
  * This class extends JFrame and displays the game board using a grid of buttons.
  * Players can interact with the board by clicking on columns to make their moves.
+ * Boards with more than a few thousand cells are painted on a single {@link BoardCanvas} instead,
+ * which only repaints the cell of each new disc.
+ * Apart from {@link #nextClick()}, its methods must be called on the event dispatch thread.
  */
 public class GUIBoard extends JFrame {
-    private final GameButton[][] buttons;
+    private static final int CANVAS_CELLS = 2500; // boards with more cells are painted on a canvas
+
+    private final GameButton[][] buttons; // null when the board is painted on a canvas
+    private final BoardCanvas canvas; // null when the board uses buttons
     private Board board;
-    private int selectedColumn = -1;
-    private boolean moveSelected = false;
+    private volatile int selectedColumn = -1;
+    private volatile boolean moveSelected = false;
+    private volatile CompletableFuture<Integer> pendingClick; // completed by the next click on a free column
+    private final Timer thinkingTimer; // refreshes the title while a computer player thinks
+    private Player thinkingPlayer;
+    private long thinkingSince;
     private Player currentPlayer;
     private final String defaultTitle;
-    // Using a final object for synchronization instead of the non-final waitingPlayer field
-    private final Object lock = new Object();
-    private GUIHumanPlayer waitingPlayer = null;
     
     /**
      * Constructs a new GUIBoard with the specified board, title, and players.
@@ -27,6 +36,19 @@ public class GUIBoard extends JFrame {
      * @param player2 The second player (typically computer)
      */
     public GUIBoard(Board board, String title, Player player1, Player player2) {
+        this(board, title, player1, player2, (long) board.getRows() * board.getColumns() > CANVAS_CELLS);
+    }
+
+    /**
+     * Constructs a new GUIBoard that either uses a button per cell or paints the board on one canvas.
+     *
+     * @param board The game board to display
+     * @param title The title for the game window
+     * @param player1 The first player (typically human)
+     * @param player2 The second player (typically computer)
+     * @param useCanvas Whether to paint the board on one canvas instead of using buttons
+     */
+    public GUIBoard(Board board, String title, Player player1, Player player2, boolean useCanvas) {
         super(title);
         this.board = board;
         this.defaultTitle = title;
@@ -34,36 +56,57 @@ public class GUIBoard extends JFrame {
         
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setSize(600, 500);
+        thinkingTimer = new Timer(100, e -> showThinkingTime());
         
-        JPanel panel = new JPanel(new GridLayout(board.getRows(), board.getColumns()));
-        buttons = new GameButton[board.getRows()][board.getColumns()];
-        
-        for (int i = 0; i < board.getRows(); i++) {
-            for (int j = 0; j < board.getColumns(); j++) {
+        if (useCanvas) {
+            buttons = null;
+            canvas = new BoardCanvas(board.getRows(), board.getColumns(), this::selectColumn);
+            add(canvas);
+        } else {
+            buttons = new GameButton[board.getRows()][board.getColumns()];
+            canvas = null;
+            add(buttonPanel(buttons, this::selectColumn));
+        }
+        setVisible(true);
+    }
+
+    /**
+     * Creates a panel with a button for every cell that reports the column of the button clicked.
+     *
+     * @param buttons The grid to fill with the new buttons, one row of buttons per board row
+     * @param columnClicked Called with the column index whenever a button is clicked
+     * @return The panel holding the buttons
+     */
+    static JPanel buttonPanel(GameButton[][] buttons, IntConsumer columnClicked) {
+        JPanel panel = new JPanel(new GridLayout(buttons.length, buttons[0].length));
+        for (int i = 0; i < buttons.length; i++) {
+            for (int j = 0; j < buttons[i].length; j++) {
                 buttons[i][j] = new GameButton(i, j);
                 final int col = j;
-                buttons[i][j].addActionListener(e -> {
-                    if (!board.isColumnFull(col)) {
-                        selectedColumn = col;
-                        moveSelected = true;
-                        
-                        // Notify the waiting player
-                        if (waitingPlayer != null) {
-                            synchronized (lock) {
-                                // Use the lock object for synchronization
-                                lock.notify();
-                            }
-                        }
-                    } else {
-                        JOptionPane.showMessageDialog(this, "Column is full! Choose another column.");
-                    }
-                });
+                buttons[i][j].addActionListener(e -> columnClicked.accept(col));
                 panel.add(buttons[i][j]);
             }
         }
-        
-        add(panel);
-        setVisible(true);
+        return panel;
+    }
+
+    /**
+     * Selects a clicked column as the move and completes the pending click, or complains if the column is full.
+     *
+     * @param col The column index that was clicked
+     */
+    private void selectColumn(int col) {
+        if (!board.isColumnFull(col)) {
+            selectedColumn = col;
+            moveSelected = true;
+            CompletableFuture<Integer> click = pendingClick;
+            if (click != null) {
+                pendingClick = null;
+                click.complete(col);
+            }
+        } else {
+            JOptionPane.showMessageDialog(this, "Column is full! Choose another column.");
+        }
     }
     
     /**
@@ -108,7 +151,28 @@ public class GUIBoard extends JFrame {
      * @param board The current game board to display
      */
     public void updateBoard(Board board) {
+        if (Metrics.ENABLED) {
+            long start = System.nanoTime();
+            redraw(board);
+            Metrics.render(System.nanoTime() - start);
+        } else {
+            redraw(board);
+        }
+    }
+
+    /**
+     * Redraws the cells that changed since the last update, without timing it.
+     *
+     * @param board The current game board to display
+     */
+    private void redraw(Board board) {
         this.board = board;
+        thinkingTimer.stop();
+        if (canvas != null) {
+            canvas.update(board); // repaints only the cells that changed
+            resetSelectedRowAndColumn();
+            return;
+        }
         for (int i = 0; i < board.getRows(); i++) {
             for (int j = 0; j < board.getColumns(); j++) {
                 Player player = board.getPlayerAtLocation(i, j);
@@ -157,6 +221,10 @@ public class GUIBoard extends JFrame {
      * @param thickness The thickness of the borders as a float value
      */
     public void setThickness(float thickness) {
+        if (canvas != null) {
+            canvas.setThickness(thickness);
+            return;
+        }
         for (int i = 0; i < board.getRows(); i++) {
             for (int j = 0; j < board.getColumns(); j++) {
                 buttons[i][j].setBorder(BorderFactory.createLineBorder(Color.BLACK, (int) thickness));
@@ -171,6 +239,10 @@ public class GUIBoard extends JFrame {
      * @param thickness The thickness of the borders as a double value
      */
     public void setThickness(double thickness) {
+        if (canvas != null) {
+            canvas.setThickness((float) thickness);
+            return;
+        }
         for (int i = 0; i < board.getRows(); i++) {
             for (int j = 0; j < board.getColumns(); j++) {
                 buttons[i][j].setBorder(BorderFactory.createLineBorder(Color.BLACK, (int) thickness));
@@ -193,6 +265,7 @@ public class GUIBoard extends JFrame {
      * @param player The current player, or null to reset to the default title
      */
     public void setCurrentPlayer(Player player) {
+        thinkingTimer.stop();
         this.currentPlayer = player;
         if (player != null) {
             setTitle(defaultTitle + " - " + currentPlayer.getName() + "'s Turn");
@@ -202,29 +275,48 @@ public class GUIBoard extends JFrame {
     }
     
     /**
-     * Sets the player that is waiting for a move to be selected.
-     * This player will be notified when a move is selected.
+     * Shows in the title that a computer player is thinking, and for how long, until the next call to
+     * setCurrentPlayer.
      *
-     * @param player The player waiting for a move
+     * @param player The player that is thinking
      */
-    public void setWaitingPlayer(GUIHumanPlayer player) {
-        this.waitingPlayer = player;
+    public void setThinking(Player player) {
+        this.currentPlayer = player;
+        this.thinkingPlayer = player;
+        this.thinkingSince = System.nanoTime();
+        showThinkingTime();
+        thinkingTimer.start();
     }
-    
+
     /**
-     * Gets the lock object used for synchronization.
-     * 
-     * @return The lock object
+     * Updates the title with the time the thinking player has taken so far.
      */
-    public Object getLock() {
-        return lock;
+    private void showThinkingTime() {
+        double seconds = (System.nanoTime() - thinkingSince) / 1e9;
+        setTitle(String.format("%s - %s is thinking... %.1f s", defaultTitle, thinkingPlayer.getName(), seconds));
     }
-    
+
+    /**
+     * Gets a future that completes with the column of the next click on a column that is not full.
+     * Can be called from any thread, and replaces any earlier future that has not completed yet.
+     *
+     * @return The future column index
+     */
+    public CompletableFuture<Integer> nextClick() {
+        CompletableFuture<Integer> click = new CompletableFuture<>();
+        CompletableFuture<Integer> replaced = pendingClick;
+        pendingClick = click;
+        if (replaced != null) {
+            replaced.cancel(false);
+        }
+        return click;
+    }
+
     /**
      * Inner class representing a button in the game board grid.
      * Extends JButton and overrides paintComponent to draw game pieces.
      */
-    class GameButton extends JButton {
+    static class GameButton extends JButton {
         private Player player;
         
         /**
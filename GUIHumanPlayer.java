@@ -1,4 +1,7 @@
-import javax.swing.JOptionPane;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 
 /**
  * Represents a human player that interacts with the game through a graphical user interface.
@@ -7,16 +10,14 @@ import javax.swing.JOptionPane;
  */
 public class GUIHumanPlayer extends Player {
     private GUIBoard guiBoard;
-    
+
     /**
-     * Constructs a new GUIHumanPlayer with the specified JOptionPane.
-     *
-     * @param frame The JOptionPane used for displaying messages
+     * Constructs a new GUIHumanPlayer.
      */
-    public GUIHumanPlayer(JOptionPane frame) {
-        super("Red", frame);
+    public GUIHumanPlayer() {
+        super("Red");
     }
-    
+
     /**
      * Sets the GUIBoard associated with this player.
      * This establishes the connection between the player and the GUI.
@@ -26,54 +27,43 @@ public class GUIHumanPlayer extends Player {
     public void setGUIBoard(GUIBoard guiBoard) {
         this.guiBoard = guiBoard;
     }
-    
+
     /**
      * Gets the player's move by waiting for them to click on a column in the GUI.
-     * Uses wait/notify mechanism for efficient waiting.
+     * Blocks the calling thread, so it must not be called on the event dispatch thread.
      *
      * @param board The current game board
      * @return A Move object representing the player's chosen column, or null if the player quits
      */
     @Override
     public Move getMove(Board board) {
-        if (guiBoard == null) {
+        try {
+            return requestMove(board, Runnable::run).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (CancellationException | ExecutionException e) {
             return null;
         }
-        
-        // Reset the GUI selection
-        guiBoard.resetSelectedRowAndColumn();
-        
-        // Set the current player in the GUI
-        guiBoard.setCurrentPlayer(this);
-        
-        // Set this player as the waiting player in the GUI
-        guiBoard.setWaitingPlayer(this);
-        
-        // Get the lock object from the GUI board
-        Object lock = guiBoard.getLock();
-        
-        // Wait for notification from the GUI
-        synchronized (lock) {
-            try {
-                // Wait until notified by the GUI
-                while (!guiBoard.isMoveSelected()) {
-                    lock.wait();
-                }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                return null;
-            }
+    }
+
+    /**
+     * Asks for the player's move without waiting for it. No thread is blocked while the player thinks:
+     * the future completes on the event dispatch thread when they click on a column. The time until the click is
+     * recorded by {@link Metrics} like the move time of any other player.
+     *
+     * @param board The current game board
+     * @param executor Not used, since clicks arrive on the event dispatch thread
+     * @return A future that completes with the player's chosen column, or with null if there is no GUI
+     */
+    @Override
+    public CompletableFuture<Move> requestMove(Board board, Executor executor) {
+        if (guiBoard == null) {
+            return CompletableFuture.completedFuture(null);
         }
-        
-        // Get the selected column
-        int column = guiBoard.getSelectedColumn();
-        
-        // Reset the GUI title
-        guiBoard.setCurrentPlayer(null);
-        
-        return new Move(column);
+        return Metrics.move(this, board, () -> guiBoard.nextClick().thenApply(Move::new));
     }
-    
+
     /**
      * Gets the player type character.
      *
@@ -83,4 +73,4 @@ public class GUIHumanPlayer extends Player {
     public char getPlayerType() {
         return 'R';
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,456 @@
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Represents a finished game as the board size, the number of discs in a row needed to win, the result and the
+ * column of every disc in order.
+ *
+ * <p>Records are archived in a file with a 6-byte header followed by one record after another. A record starts
+ * with the rows, the columns and the win length as varints, one byte for the result and the number of moves as a
+ * varint. On boards with at most 16 columns the columns follow packed two to a byte, first move in the high
+ * nibble, otherwise each column is a varint. A game of connect four on the standard board takes about a dozen
+ * bytes. Archives of version 1, written before the win length was recorded, are read as connect four.
+ *
+ * <p>A {@link Writer} appends records through a buffered stream and a {@link Reader} reads them back one at a
+ * time through a fixed buffer, so archives of any size are processed without ever being held in memory.
+ *
+ * <p>Run with {@code java GameRecord [file]} to replay every game of an archive and print how fast it was read.
+ *
+ * @author Caleb Brost
+ * @version 1.0
+ * @since 2025
+ */
+public final class GameRecord {
+    /** Result of a game that was abandoned before it was decided. */
+    public static final int UNFINISHED = 0;
+    /** Result of a game won by the player who moved first. */
+    public static final int FIRST_WON = 1;
+    /** Result of a game won by the player who moved second. */
+    public static final int SECOND_WON = 2;
+    /** Result of a game that filled the board without a winner. */
+    public static final int DRAW = 3;
+
+    private static final int MAGIC = 0x43344752; // "C4GR"
+    private static final int VERSION = 2;
+    private static final int VERSION_WITHOUT_CONNECT = 1;
+    private static final int MAX_NIBBLE_COLUMNS = 16;
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private final int rows;
+    private final int cols;
+    private final int connect;
+    private final int result;
+    private final int[] columns;
+
+    /**
+     * Constructor for the GameRecord class, for a game of connect four.
+     *
+     * @param rows The number of rows on the board
+     * @param cols The number of columns on the board
+     * @param result UNFINISHED, FIRST_WON, SECOND_WON or DRAW
+     * @param columns The column of every disc, first move first
+     */
+    public GameRecord(int rows, int cols, int result, int[] columns) {
+        this(rows, cols, 4, result, columns);
+    }
+
+    /**
+     * Constructor for the GameRecord class.
+     *
+     * @param rows The number of rows on the board
+     * @param cols The number of columns on the board
+     * @param connect The number of discs in a row needed to win
+     * @param result UNFINISHED, FIRST_WON, SECOND_WON or DRAW
+     * @param columns The column of every disc, first move first
+     * @throws IllegalArgumentException If no game could end like this, such as with more discs than cells or
+     *                                  with a win for the first player before any disc was played
+     */
+    public GameRecord(int rows, int cols, int connect, int result, int[] columns) {
+        if (rows < 1 || cols < 1 || connect < 1 || result < UNFINISHED || result > DRAW
+                || columns.length > (long) rows * cols || (result == FIRST_WON && columns.length == 0)) {
+            throw new IllegalArgumentException("Bad game record: " + rows + " x " + cols + ", connect " + connect
+                + ", result " + result + ", " + columns.length + " moves");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.connect = connect;
+        this.result = result;
+        this.columns = columns.clone();
+    }
+
+    /**
+     * Makes a record of the game played on a board.
+     *
+     * @param board The board the game was played on
+     * @param winner The winning player, or null if the game was a tie or a player quit. A winner of a game
+     *               without discs won because the first player forfeited
+     * @return The record of the game
+     */
+    public static GameRecord of(Board board, Player winner) {
+        int moves = board.getMoveCount();
+        int[] columns = new int[moves];
+        for (int i = 0; i < moves; i++) {
+            columns[i] = board.getMoveColumn(i);
+        }
+        int result;
+        if (winner == null) {
+            result = moves > 0 && board.tie() ? DRAW : UNFINISHED;
+        } else if (moves == 0) {
+            result = SECOND_WON; // only the first player can have forfeited before any disc was played
+        } else {
+            // the winner played the last disc, unless the other player forfeited with an illegal move
+            boolean firstPlayedLast = moves % 2 == 1;
+            boolean winnerPlayedLast =
+                board.getPlayerAtLocation(board.getPlayedRowIndex(), board.getPlayedColIndex()) == winner;
+            result = firstPlayedLast == winnerPlayedLast ? FIRST_WON : SECOND_WON;
+        }
+        return new GameRecord(board.getRows(), board.getColumns(), board.getConnect(), result, columns);
+    }
+
+    /**
+     * Gets the number of rows on the board.
+     *
+     * @return The number of rows
+     */
+    public int getRows() {
+        return this.rows;
+    }
+
+    /**
+     * Gets the number of columns on the board.
+     *
+     * @return The number of columns
+     */
+    public int getColumns() {
+        return this.cols;
+    }
+
+    /**
+     * Gets the number of discs in a row needed to win.
+     *
+     * @return The win length
+     */
+    public int getConnect() {
+        return this.connect;
+    }
+
+    /**
+     * Gets how the game ended.
+     *
+     * @return UNFINISHED, FIRST_WON, SECOND_WON or DRAW
+     */
+    public int getResult() {
+        return this.result;
+    }
+
+    /**
+     * Gets the number of discs played in the game.
+     *
+     * @return The move count
+     */
+    public int getMoveCount() {
+        return this.columns.length;
+    }
+
+    /**
+     * Gets the column of one disc.
+     *
+     * @param index The number of discs played before it
+     * @return The column index
+     */
+    public int getColumn(int index) {
+        return this.columns[index];
+    }
+
+    /**
+     * Plays the game again on a new board.
+     *
+     * @param first The player to play the first disc and every other disc after it
+     * @param second The player to play the second disc and every other disc after it
+     * @return The board after the last disc
+     * @throws IllegalStateException If a disc can not be played, which means the record is corrupt
+     */
+    public Board replay(Player first, Player second) {
+        Board board = new Board(this.rows, this.cols, this.connect);
+        for (int i = 0; i < this.columns.length; i++) {
+            if (!board.makeMove(this.columns[i], i % 2 == 0 ? first : second)) {
+                throw new IllegalStateException("Move " + i + " in column " + this.columns[i] + " can not be played");
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Replays every game of an archive, checks that each decided game ends with its winner's disc, and prints
+     * how fast the archive was read.
+     *
+     * @param args Optional archive file
+     * @throws IOException If the archive can not be read
+     */
+    public static void main(String[] args) throws IOException {
+        Path file = Paths.get(args.length > 0 ? args[0] : "games.c4gr");
+        Player first = new RandomPlayer();
+        Player second = new RandomPlayer();
+        long[] results = new long[4];
+        long moves = 0;
+        long start = System.nanoTime();
+        try (Reader reader = new Reader(file)) {
+            GameRecord record;
+            while ((record = reader.next()) != null) {
+                Board board = record.replay(first, second);
+                results[record.getResult()]++;
+                moves += record.getMoveCount();
+                boolean firstPlayedLast = record.getMoveCount() % 2 == 1;
+                boolean winnerPlayedLast = firstPlayedLast ? record.getResult() == FIRST_WON
+                    : record.getResult() == SECOND_WON; // otherwise the loser forfeited or nobody won
+                if (winnerPlayedLast
+                        && board.win(board.getPlayedColIndex(), firstPlayedLast ? first : second) == null) {
+                    throw new IllegalStateException("Game " + reader.getRecords() + " does not end in a win");
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long games = results[0] + results[1] + results[2] + results[3];
+        long bytes = Files.size(file);
+        System.out.printf("%d games, %d moves, %d bytes (%.1f bytes/game) replayed in %.2f s: %.0f games/sec, "
+            + "%.1f MB/s%n", games, moves, bytes, (double) bytes / Math.max(1, games), seconds, games / seconds,
+            bytes / seconds / 1e6);
+        System.out.printf("first: %d, second: %d, draws: %d, unfinished: %d%n", results[FIRST_WON],
+            results[SECOND_WON], results[DRAW], results[UNFINISHED]);
+    }
+
+    /**
+     * Appends game records to an archive file.
+     */
+    public static final class Writer implements Closeable {
+        private final DataOutputStream out;
+        private long records;
+
+        /**
+         * Creates an archive, replacing any file already there, and writes its header.
+         *
+         * @param file The archive file
+         * @throws IOException If the file can not be written
+         */
+        public Writer(Path file) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+            this.out.writeInt(MAGIC);
+            this.out.writeShort(VERSION);
+        }
+
+        /**
+         * Appends one record.
+         *
+         * @param record The record to write
+         * @throws IOException If the file can not be written
+         */
+        public void write(GameRecord record) throws IOException {
+            this.writeVarint(record.rows);
+            this.writeVarint(record.cols);
+            this.writeVarint(record.connect);
+            this.out.writeByte(record.result);
+            int[] columns = record.columns;
+            this.writeVarint(columns.length);
+            if (record.cols <= MAX_NIBBLE_COLUMNS) {
+                for (int i = 0; i < columns.length; i += 2) {
+                    int low = i + 1 < columns.length ? columns[i + 1] : 0;
+                    this.out.writeByte(columns[i] << 4 | low);
+                }
+            } else {
+                for (int column : columns) {
+                    this.writeVarint(column);
+                }
+            }
+            this.records++;
+        }
+
+        /**
+         * Gets the number of records written so far.
+         *
+         * @return The record count
+         */
+        public long getRecords() {
+            return this.records;
+        }
+
+        /**
+         * Writes a non-negative int in 7-bit groups, low group first, with the top bit set on all but the last.
+         *
+         * @param value The value to write
+         * @throws IOException If the file can not be written
+         */
+        private void writeVarint(int value) throws IOException {
+            while ((value & ~0x7F) != 0) {
+                this.out.writeByte(value & 0x7F | 0x80);
+                value >>>= 7;
+            }
+            this.out.writeByte(value);
+        }
+
+        /**
+         * Flushes the buffered records and closes the file.
+         *
+         * @throws IOException If the file can not be written
+         */
+        @Override
+        public void close() throws IOException {
+            this.out.close();
+        }
+    }
+
+    /**
+     * Reads the records of an archive file one after another.
+     */
+    public static final class Reader implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        private int version;
+        private long records;
+
+        /**
+         * Opens an archive and checks its header.
+         *
+         * @param file The archive file
+         * @throws IOException If the file can not be read or is not an archive of game records
+         */
+        public Reader(Path file) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.READ);
+            this.buffer.limit(0);
+            try {
+                if (!this.fill(6) || this.buffer.getInt() != MAGIC) {
+                    throw new IOException(file + " is not an archive of game records");
+                }
+                this.version = this.buffer.getShort();
+                if (this.version != VERSION && this.version != VERSION_WITHOUT_CONNECT) {
+                    throw new IOException(file + " is an archive of unknown version " + this.version);
+                }
+            } catch (IOException e) {
+                this.channel.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Reads the next record.
+         *
+         * @return The record, or null at the end of the archive
+         * @throws IOException If the file can not be read or ends in the middle of a record
+         */
+        public GameRecord next() throws IOException {
+            if (!this.fill(1)) {
+                return null;
+            }
+            int rows = this.readVarint();
+            int cols = this.readVarint();
+            int connect = this.version == VERSION_WITHOUT_CONNECT ? 4 : this.readVarint();
+            int result = this.readByte();
+            int moves = this.readVarint();
+            if (rows < 1 || cols < 1 || moves < 0 || moves > (long) rows * cols) {
+                throw new IOException("Record " + this.records + " has " + moves + " moves on a " + rows + " x "
+                    + cols + " board");
+            }
+            int[] columns = new int[moves];
+            if (cols <= MAX_NIBBLE_COLUMNS) {
+                for (int i = 0; i < columns.length; i += 2) {
+                    int packed = this.readByte();
+                    columns[i] = packed >>> 4;
+                    if (i + 1 < columns.length) {
+                        columns[i + 1] = packed & 0x0F;
+                    }
+                }
+            } else {
+                for (int i = 0; i < columns.length; i++) {
+                    columns[i] = this.readVarint();
+                }
+            }
+            try {
+                GameRecord record = new GameRecord(rows, cols, connect, result, columns);
+                this.records++;
+                return record;
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Record " + this.records + " is corrupt: " + e.getMessage(), e);
+            }
+        }
+
+        /**
+         * Gets the number of records read so far.
+         *
+         * @return The record count
+         */
+        public long getRecords() {
+            return this.records;
+        }
+
+        /**
+         * Reads a varint written by {@link Writer}.
+         *
+         * @return The value
+         * @throws IOException If the file can not be read or ends early
+         */
+        private int readVarint() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                int b = this.readByte();
+                value |= (b & 0x7F) << shift;
+                if (b < 0x80) {
+                    return value;
+                }
+            }
+            throw new IOException("Varint too long in record " + this.records);
+        }
+
+        /**
+         * Reads one byte, refilling the buffer when it runs out.
+         *
+         * @return The byte as a value from 0 to 255
+         * @throws IOException If the file can not be read or ends early
+         */
+        private int readByte() throws IOException {
+            if (!this.buffer.hasRemaining() && !this.fill(1)) {
+                throw new EOFException("Archive ends in the middle of record " + this.records);
+            }
+            return this.buffer.get() & 0xFF;
+        }
+
+        /**
+         * Makes sure the buffer holds at least some bytes, reading more of the file if it does not.
+         *
+         * @param bytes The number of bytes needed
+         * @return Returns true if the bytes are there, false if the file ends first
+         * @throws IOException If the file can not be read
+         */
+        private boolean fill(int bytes) throws IOException {
+            if (this.buffer.remaining() >= bytes) {
+                return true;
+            }
+            this.buffer.compact();
+            while (this.buffer.position() < bytes) {
+                if (this.channel.read(this.buffer) < 0) {
+                    this.buffer.flip();
+                    return false;
+                }
+            }
+            this.buffer.flip();
+            return true;
+        }
+
+        /**
+         * Closes the file.
+         *
+         * @throws IOException If the file can not be closed
+         */
+        @Override
+        public void close() throws IOException {
+            this.channel.close();
+        }
+    }
+}
@@ -0,0 +1,806 @@
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Hosts many games of connect four at once for clients connecting over TCP.
+ *
+ * <p>One thread runs every connection and every board with a non-blocking {@link Selector}. Computer players
+ * think on a separate pool through {@link Player#requestMove}, and their moves are handed back to the selector
+ * thread, so a slow search never holds up the other games. Computer players are shared by all games on boards
+ * of the same size: a game borrows one for each move, so there are never more of them than engine threads, however
+ * many games are running. A game that fails is abandoned without disturbing the others. Every line is plain ASCII
+ * ending in a newline. Columns are numbered from 0.
+ *
+ * <p>Client to server:
+ * <ul>
+ * <li>{@code NEW [rows cols] [ai|human]} starts a game, against the server's computer player by default or
+ * against the next client asking for a human game on a board of the same size.</li>
+ * <li>{@code MOVE col} plays a column.</li>
+ * <li>{@code STATS} asks for the move latency of the current or last game.</li>
+ * <li>{@code QUIT} leaves the current game, or closes the connection if there is none.</li>
+ * </ul>
+ *
+ * <p>Server to client:
+ * <ul>
+ * <li>{@code WAIT} while waiting for a human opponent.</li>
+ * <li>{@code GAME rows cols FIRST|SECOND} when a game starts.</li>
+ * <li>{@code OPPONENT col} after the opponent plays a column and it is the client's turn.</li>
+ * <li>{@code END WIN|LOSS|DRAW|ABANDONED [col]} when the game is over, with the column of the opponent's last
+ * move if that move ended it, so a client is never asked to answer a finished game.</li>
+ * <li>{@code STATS moves averageMicros maxMicros} in reply to STATS, where the latency of a move is the time
+ * from reading a client's move to sending it on to a human opponent, or to sending the computer's reply.</li>
+ * <li>{@code ERROR message} after a line the server could not accept.</li>
+ * </ul>
+ *
+ * @author Caleb Brost
+ * @version 1.0
+ * @since 2025
+ */
+public class GameServer {
+    private static final int MAX_LINE = 256;
+    private static final int MAX_BOARD_SIZE = 1000; // rows or columns
+
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final Supplier<Player> computerPlayers;
+    private final ExecutorService engine;
+    private final int engineThreads;
+    private final Queue<Runnable> completed = new ConcurrentLinkedQueue<>(); // computer moves for the selector
+    private final Map<String, ArrayDeque<Player>> idlePlayers = new HashMap<>(); // by board size, guarded by this
+    private int livePlayers; // computer players made and not yet closed, guarded by this
+    private boolean closed; // guarded by this
+    private volatile Thread selectorThread;
+    private final Map<String, Connection> waiting = new HashMap<>(); // clients waiting for a human, by board size
+    private final LongAdder gamesStarted = new LongAdder();
+    private final LongAdder gamesFinished = new LongAdder();
+    private final LongAdder movesPlayed = new LongAdder();
+
+    /**
+     * Constructor for the GameServer class.
+     *
+     * @param port The TCP port to listen on, or 0 for any free port
+     * @param computerPlayers Makes the computer players, at most one per engine thread
+     * @param engineThreads The number of threads computer players think on
+     * @throws IOException If the port can not be opened
+     */
+    public GameServer(int port, Supplier<Player> computerPlayers, int engineThreads) throws IOException {
+        this.selector = Selector.open();
+        this.server = ServerSocketChannel.open();
+        this.server.bind(new InetSocketAddress(port), 1024);
+        this.server.configureBlocking(false);
+        this.server.register(this.selector, SelectionKey.OP_ACCEPT);
+        this.computerPlayers = computerPlayers;
+        this.engineThreads = engineThreads;
+        this.engine = Executors.newFixedThreadPool(engineThreads, runnable -> {
+            Thread thread = new Thread(runnable, "game-server-engine");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Gets the port the server listens on.
+     *
+     * @return The TCP port
+     */
+    public int getPort() {
+        return this.server.socket().getLocalPort();
+    }
+
+    /**
+     * Gets the number of games started since the server was created.
+     *
+     * @return The game count
+     */
+    public long getGamesStarted() {
+        return this.gamesStarted.sum();
+    }
+
+    /**
+     * Gets the number of games that ended since the server was created, including abandoned ones.
+     *
+     * @return The game count
+     */
+    public long getGamesFinished() {
+        return this.gamesFinished.sum();
+    }
+
+    /**
+     * Gets the number of moves played in all games since the server was created.
+     *
+     * @return The move count
+     */
+    public long getMovesPlayed() {
+        return this.movesPlayed.sum();
+    }
+
+    /**
+     * Serves clients until the thread is interrupted.
+     *
+     * @throws IOException If the selector fails
+     */
+    public void run() throws IOException {
+        this.selectorThread = Thread.currentThread();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                this.selector.select();
+                Runnable task;
+                while ((task = this.completed.poll()) != null) {
+                    task.run();
+                }
+                Iterator<SelectionKey> keys = this.selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        this.accept();
+                        continue;
+                    }
+                    Connection connection = (Connection) key.attachment();
+                    try {
+                        if (key.isReadable()) {
+                            connection.read();
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            connection.flush();
+                        }
+                    } catch (IOException e) {
+                        connection.close();
+                    } catch (RuntimeException | OutOfMemoryError e) {
+                        System.err.println("Dropping a client after an error: " + e);
+                        connection.close();
+                    }
+                }
+            }
+        } finally {
+            this.engine.shutdownNow();
+            this.closePlayers();
+            this.selector.close();
+            this.server.close();
+        }
+    }
+
+    /**
+     * Accepts every pending connection.
+     *
+     * @throws IOException If the server socket fails
+     */
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = this.server.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            Connection connection = new Connection(channel);
+            connection.key = channel.register(this.selector, SelectionKey.OP_READ, connection);
+        }
+    }
+
+    /**
+     * Lends a computer player for one move on a board of the given size, making one if none is idle. Once there
+     * are as many players as engine threads, an idle player of another board size is closed to make room, since
+     * a player's search table only holds positions of one board size.
+     *
+     * @param size The board size, as rows x cols
+     * @return The player, to be given back with {@link #releasePlayer}
+     */
+    private Player borrowPlayer(String size) {
+        synchronized (this) {
+            ArrayDeque<Player> idle = this.idlePlayers.get(size);
+            if (idle != null && !idle.isEmpty()) {
+                return idle.poll();
+            }
+            if (this.livePlayers >= this.engineThreads) {
+                Iterator<ArrayDeque<Player>> sizes = this.idlePlayers.values().iterator();
+                while (sizes.hasNext()) {
+                    ArrayDeque<Player> other = sizes.next();
+                    if (!other.isEmpty()) {
+                        other.poll().close();
+                        this.livePlayers--;
+                        break;
+                    }
+                    sizes.remove();
+                }
+            }
+            this.livePlayers++;
+        }
+        return this.computerPlayers.get();
+    }
+
+    /**
+     * Takes back a computer player after its move, or closes it if the server has stopped.
+     *
+     * @param size The board size the player moved on
+     * @param player The player from {@link #borrowPlayer}
+     */
+    private void releasePlayer(String size, Player player) {
+        synchronized (this) {
+            if (!this.closed) {
+                this.idlePlayers.computeIfAbsent(size, key -> new ArrayDeque<>()).add(player);
+                return;
+            }
+            this.livePlayers--;
+        }
+        player.close();
+    }
+
+    /**
+     * Closes every idle computer player. Players still thinking are closed when they are given back.
+     */
+    private void closePlayers() {
+        List<Player> idle = new ArrayList<>();
+        synchronized (this) {
+            this.closed = true;
+            for (ArrayDeque<Player> players : this.idlePlayers.values()) {
+                idle.addAll(players);
+                this.livePlayers -= players.size();
+            }
+            this.idlePlayers.clear();
+        }
+        idle.forEach(Player::close);
+    }
+
+    /**
+     * Starts a game between two seats.
+     *
+     * @param rows The number of rows on the board
+     * @param cols The number of columns on the board
+     * @param first The client moving first
+     * @param second The client moving second, or null to play the server's computer player
+     */
+    private void start(int rows, int cols, Connection first, Connection second) {
+        Session session = new Session(rows, cols, first, second);
+        this.gamesStarted.increment();
+        first.session = session;
+        first.send("GAME " + rows + " " + cols + " FIRST");
+        if (second != null) {
+            second.session = session;
+            second.send("GAME " + rows + " " + cols + " SECOND");
+        }
+        session.ask();
+    }
+
+    /**
+     * Runs the server from the command line, printing the game counts every ten seconds.
+     *
+     * @param args Optional port, computer player description as for {@link Tournament#players} and
+     *             number of engine threads
+     * @throws IOException If the server can not be started
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 4444;
+        String spec = args.length > 1 ? args[1] : "rollout";
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        GameServer server = new GameServer(port, Tournament.players(spec, 1), threads);
+        Thread report = new Thread(() -> {
+            try {
+                while (true) {
+                    Thread.sleep(10000);
+                    System.out.printf("games started %d, finished %d, moves %d%n", server.getGamesStarted(),
+                        server.getGamesFinished(), server.getMovesPlayed());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "game-server-report");
+        report.setDaemon(true);
+        report.start();
+        System.out.printf("Serving connect four on port %d against %s%n", server.getPort(), spec);
+        server.run();
+    }
+
+    /**
+     * A client on a board. Its moves arrive over the network: asking it for a move gives a future that the
+     * client's next legal MOVE line completes.
+     */
+    private static final class RemotePlayer extends Player {
+        private final char type;
+        private CompletableFuture<Move> pending = new CompletableFuture<>(); // only used on the selector thread
+
+        /**
+         * Constructs a new RemotePlayer.
+         *
+         * @param name The name of the seat
+         * @param type 'R' for the first seat or 'Y' for the second
+         */
+        private RemotePlayer(String name, char type) {
+            super(name);
+            this.type = type;
+        }
+
+        /**
+         * Waits for the client's next move. Must not be called on the selector thread, which reads the move.
+         *
+         * @param board The current game board
+         * @return The column the client played
+         */
+        @Override
+        public Move getMove(Board board) {
+            return this.requestMove(board, Runnable::run).join();
+        }
+
+        /**
+         * Asks for the client's next move without waiting for it. The future completes on the selector thread
+         * when the move is read.
+         *
+         * @param board The current game board
+         * @param executor Not used, since the client does its own thinking
+         * @return The client's move
+         */
+        @Override
+        public CompletableFuture<Move> requestMove(Board board, Executor executor) {
+            this.pending = new CompletableFuture<>();
+            return this.pending;
+        }
+
+        /**
+         * Hands a move read from the client to whoever asked for it.
+         *
+         * @param col The column the client played, already checked to be legal
+         */
+        private void moved(int col) {
+            this.pending.complete(new Move(col));
+        }
+
+        @Override
+        public char getPlayerType() {
+            return this.type;
+        }
+    }
+
+    /**
+     * The server's seat in a game against a client. For each move it borrows one of the shared computer players
+     * and hands it a board of its own, on which the seat's discs are handed over to the borrowed player, since a
+     * board tells its two players apart by identity. The board is kept from move to move and only the moves
+     * played since the last one are added, so a move costs the same however long the game is.
+     */
+    private final class ComputerSeat extends Player {
+        private Board view; // the game as the borrowed players see it, created on the first move
+        private Player self = this; // the player the view shows as the owner of this seat's discs
+        private int requested; // number of moves passed on to the view, counted on the caller's thread
+
+        /**
+         * Constructs a new ComputerSeat.
+         */
+        private ComputerSeat() {
+            super("Computer");
+        }
+
+        @Override
+        public Move getMove(Board board) {
+            int first = this.requested;
+            return this.think(board, first, this.newMoves(board), board.getOpponent(this));
+        }
+
+        /**
+         * Asks a shared computer player for a move on the executor. The moves played since the last request are
+         * copied first, so the board can change once this returns. Requests must come one at a time, each after
+         * the move of the last one has been played.
+         *
+         * @param board The current game board
+         * @param executor The engine threads to think on
+         * @return The computer player's move
+         */
+        @Override
+        public CompletableFuture<Move> requestMove(Board board, Executor executor) {
+            int first = this.requested;
+            int[] moves = this.newMoves(board);
+            Player opponent = board.getOpponent(this);
+            return CompletableFuture.supplyAsync(() -> this.think(board, first, moves, opponent), executor);
+        }
+
+        /**
+         * Gets the columns played on a board since the last request.
+         *
+         * @param board The current game board
+         * @return The columns in the order they were played
+         */
+        private int[] newMoves(Board board) {
+            int[] columns = new int[board.getMoveCount() - this.requested];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = board.getMoveColumn(this.requested + i);
+            }
+            this.requested = board.getMoveCount();
+            return columns;
+        }
+
+        /**
+         * Adds the new moves to the view, borrows a computer player and asks it for a move.
+         *
+         * @param board The game board, only read for its size
+         * @param first The number of moves played before the new ones
+         * @param moves The columns played since the last request, in order
+         * @param opponent The seat's opponent, or null if it has not played
+         * @return The computer player's move
+         */
+        private Move think(Board board, int first, int[] moves, Player opponent) {
+            if (this.view == null) {
+                this.view = new Board(board.getRows(), board.getColumns(), board.getConnect());
+            }
+            int count = first + moves.length; // the seat plays move number count, so its own moves share its parity
+            for (int i = 0; i < moves.length; i++) {
+                this.view.placeDisc(moves[i], (count - first - i) % 2 == 0 ? this.self : opponent);
+            }
+            String size = board.getRows() + "x" + board.getColumns() + "x" + board.getConnect();
+            Player player = GameServer.this.borrowPlayer(size);
+            try {
+                this.view.replacePlayer(this.self, player);
+                this.self = player;
+                return Metrics.move(player, this.view);
+            } finally {
+                GameServer.this.releasePlayer(size, player);
+            }
+        }
+
+        @Override
+        public char getPlayerType() {
+            return 'Y';
+        }
+    }
+
+    /**
+     * One game on its own board, between two clients or a client and a computer player.
+     */
+    private final class Session {
+        private final Board board;
+        private final Player[] players = new Player[2];
+        private final Connection[] clients = new Connection[2]; // null for the computer player's seat
+        private int turn; // index of the seat to move
+        private boolean over;
+        private long moveStart; // System.nanoTime when the last client move was read
+        private long moves;
+        private long totalNanos;
+        private long maxNanos;
+
+        /**
+         * Constructs a new Session.
+         *
+         * @param rows The number of rows on the board
+         * @param cols The number of columns on the board
+         * @param first The client moving first
+         * @param second The client moving second, or null to play the server's computer player
+         */
+        private Session(int rows, int cols, Connection first, Connection second) {
+            this.board = new Board(rows, cols);
+            this.clients[0] = first;
+            this.clients[1] = second;
+            this.players[0] = new RemotePlayer("First", 'R');
+            this.players[1] = second == null ? new ComputerSeat() : new RemotePlayer("Second", 'Y');
+        }
+
+        /**
+         * Asks the seat whose turn it is for its move and plays it on the selector thread once it arrives.
+         */
+        private void ask() {
+            Player mover = this.players[this.turn];
+            mover.requestMove(this.board, GameServer.this.engine).whenComplete((move, error) -> {
+                if (Thread.currentThread() == GameServer.this.selectorThread) {
+                    this.moved(mover, move, error);
+                } else {
+                    GameServer.this.completed.add(() -> this.moved(mover, move, error));
+                    GameServer.this.selector.wakeup();
+                }
+            });
+        }
+
+        /**
+         * Plays the move a seat chose, unless the game ended while it was thinking.
+         *
+         * @param mover The seat that chose the move
+         * @param move The move, or null if the seat failed to choose one
+         * @param error Why the seat failed, or null
+         */
+        private void moved(Player mover, Move move, Throwable error) {
+            if (this.over || mover != this.players[this.turn]) {
+                return;
+            }
+            if (error != null) {
+                System.err.println("Abandoning a game after an error: " + error);
+            }
+            try {
+                if (move == null || move.getColumn() < 0 || move.getColumn() >= this.board.getColumns()
+                        || this.board.isColumnFull(move.getColumn())) {
+                    this.end(-2, -1); // the computer player failed, so nobody wins
+                } else {
+                    this.play(move.getColumn());
+                }
+            } catch (RuntimeException | OutOfMemoryError e) {
+                System.err.println("Abandoning a game after an error: " + e);
+                this.end(-2, -1);
+            }
+        }
+
+        /**
+         * Plays a column for a client.
+         *
+         * @param client The client that sent the move
+         * @param col The column to play
+         */
+        private void clientMove(Connection client, int col) {
+            if (this.over) {
+                client.send("ERROR The game is over");
+            } else if (this.clients[this.turn] != client) {
+                client.send("ERROR Not your turn");
+            } else if (col < 0 || col >= this.board.getColumns() || this.board.isColumnFull(col)) {
+                client.send("ERROR Illegal column " + col);
+            } else {
+                this.moveStart = System.nanoTime();
+                ((RemotePlayer) this.players[this.turn]).moved(col);
+            }
+        }
+
+        /**
+         * Plays a column for the seat to move, tells the other client and asks the other seat for its reply.
+         *
+         * @param col The column to play, which must be legal
+         */
+        private void play(int col) {
+            Player mover = this.players[this.turn];
+            this.board.makeMove(col, mover);
+            GameServer.this.movesPlayed.increment();
+            int other = 1 - this.turn;
+            if (this.board.win(col, mover) != null) {
+                this.end(this.turn, col);
+            } else if (this.board.tie()) {
+                this.end(-1, col);
+            } else {
+                this.turn = other;
+                if (this.clients[other] != null) {
+                    this.clients[other].send("OPPONENT " + col);
+                }
+                this.ask();
+            }
+            if (this.clients[other] != null) {
+                this.recordLatency(); // the move is done once the other client has it
+            }
+        }
+
+        /**
+         * Records the latency of the move in progress.
+         */
+        private void recordLatency() {
+            long nanos = System.nanoTime() - this.moveStart;
+            this.moves++;
+            this.totalNanos += nanos;
+            this.maxNanos = Math.max(this.maxNanos, nanos);
+        }
+
+        /**
+         * Ends the game and tells both clients how it went.
+         *
+         * @param winner The seat that won, -1 for a draw or -2 if the game was abandoned
+         * @param col The column of the last move, or -1 if the game was abandoned
+         */
+        private void end(int winner, int col) {
+            if (this.over) {
+                return;
+            }
+            this.over = true;
+            GameServer.this.gamesFinished.increment();
+            Metrics.gameEnd(this.board, winner >= 0 ? this.players[winner] : null);
+            for (int seat = 0; seat < 2; seat++) {
+                Connection client = this.clients[seat];
+                if (client != null && client.isOpen()) {
+                    String result = winner == -2 ? "ABANDONED" : winner == -1 ? "DRAW" : winner == seat ? "WIN" : "LOSS";
+                    // the seat that did not play the last move gets its column here instead of an OPPONENT line
+                    client.send("END " + result + (col >= 0 && seat != this.turn ? " " + col : ""));
+                }
+            }
+        }
+
+        /**
+         * Gets the latency line for this session.
+         *
+         * @return The STATS reply
+         */
+        private String stats() {
+            return String.format("STATS %d %d %d", this.moves,
+                this.moves == 0 ? 0 : this.totalNanos / this.moves / 1000, this.maxNanos / 1000);
+        }
+    }
+
+    /**
+     * One client connection with its line buffers.
+     */
+    private final class Connection {
+        private final SocketChannel channel;
+        private final ByteBuffer in = ByteBuffer.allocate(MAX_LINE);
+        private final Queue<ByteBuffer> out = new ArrayDeque<>();
+        private SelectionKey key;
+        private Session session; // current or last game, null before the first
+        private String waitingFor; // board size this client waits on a human for, or null
+
+        /**
+         * Constructs a new Connection.
+         *
+         * @param channel The client's socket
+         */
+        private Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Reads what the client sent and handles every complete line.
+         *
+         * @throws IOException If the socket fails
+         */
+        private void read() throws IOException {
+            if (this.channel.read(this.in) < 0) {
+                this.close();
+                return;
+            }
+            this.in.flip();
+            int start = 0;
+            for (int i = 0; i < this.in.limit(); i++) {
+                if (this.in.get(i) == '\n') {
+                    String line = new String(this.in.array(), start, i - start, StandardCharsets.US_ASCII).trim();
+                    this.handle(line);
+                    start = i + 1;
+                }
+            }
+            this.in.position(start);
+            this.in.compact();
+            if (!this.in.hasRemaining()) {
+                this.send("ERROR Line too long");
+                this.close();
+            }
+        }
+
+        /**
+         * Handles one line from the client.
+         *
+         * @param line The line without its newline
+         */
+        private void handle(String line) {
+            String[] words = line.split("\\s+");
+            try {
+                switch (words[0].toUpperCase()) {
+                    case "NEW":
+                        this.newGame(words);
+                        break;
+                    case "MOVE":
+                        if (this.session == null) {
+                            this.send("ERROR No game");
+                        } else {
+                            this.session.clientMove(this, Integer.parseInt(words[1]));
+                        }
+                        break;
+                    case "STATS":
+                        this.send(this.session == null ? "STATS 0 0 0" : this.session.stats());
+                        break;
+                    case "QUIT":
+                        if (this.session != null && !this.session.over) {
+                            this.session.end(-2, -1);
+                        } else {
+                            this.close();
+                        }
+                        break;
+                    default:
+                        this.send("ERROR Unknown command " + words[0]);
+                }
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                this.send("ERROR Bad line: " + line);
+            }
+        }
+
+        /**
+         * Starts a game against the computer or waits for another client.
+         *
+         * @param words The words of the NEW line
+         */
+        private void newGame(String[] words) {
+            if ((this.session != null && !this.session.over) || this.waitingFor != null) {
+                this.send("ERROR Already playing");
+                return;
+            }
+            int rows = words.length > 2 ? Integer.parseInt(words[1]) : 6;
+            int cols = words.length > 2 ? Integer.parseInt(words[2]) : 7;
+            String mode = words.length % 2 == 0 ? words[words.length - 1] : "ai";
+            if (rows < 1 || cols < 1 || rows > MAX_BOARD_SIZE || cols > MAX_BOARD_SIZE) {
+                this.send("ERROR Board size out of range");
+            } else if (mode.equalsIgnoreCase("human")) {
+                String size = rows + "x" + cols;
+                Connection opponent = GameServer.this.waiting.remove(size);
+                if (opponent == null) {
+                    GameServer.this.waiting.put(size, this);
+                    this.waitingFor = size;
+                    this.send("WAIT");
+                } else {
+                    opponent.waitingFor = null;
+                    GameServer.this.start(rows, cols, opponent, this);
+                }
+            } else if (mode.equalsIgnoreCase("ai")) {
+                GameServer.this.start(rows, cols, this, null);
+            } else {
+                this.send("ERROR Unknown opponent " + mode);
+            }
+        }
+
+        /**
+         * Queues a line for the client and writes as much as the socket takes right away.
+         *
+         * @param line The line without its newline
+         */
+        private void send(String line) {
+            if (!this.isOpen()) {
+                return;
+            }
+            this.out.add(ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.US_ASCII)));
+            try {
+                this.flush();
+            } catch (IOException e) {
+                this.close();
+            }
+        }
+
+        /**
+         * Writes queued lines until the socket is full, and asks to be told when it has room again.
+         *
+         * @throws IOException If the socket fails
+         */
+        private void flush() throws IOException {
+            while (!this.out.isEmpty()) {
+                ByteBuffer next = this.out.peek();
+                this.channel.write(next);
+                if (next.hasRemaining()) {
+                    this.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                    return;
+                }
+                this.out.poll();
+            }
+            this.key.interestOps(SelectionKey.OP_READ);
+        }
+
+        /**
+         * Checks whether the connection is still open.
+         *
+         * @return Returns true until the connection is closed
+         */
+        private boolean isOpen() {
+            return this.channel.isOpen();
+        }
+
+        /**
+         * Closes the connection and abandons its game.
+         */
+        private void close() {
+            if (!this.isOpen()) {
+                return;
+            }
+            if (this.waitingFor != null) {
+                GameServer.this.waiting.remove(this.waitingFor);
+                this.waitingFor = null;
+            }
+            try {
+                this.channel.close();
+            } catch (IOException e) {
+                // nothing left to do for a connection that is going away
+            }
+            if (this.session != null) {
+                this.session.end(-2, -1);
+            }
+        }
+    }
+}
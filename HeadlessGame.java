@@ -0,0 +1,96 @@
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Runs connect four games without a window, for simulations and benchmarks.
+ *
+ * <p>Nothing in here touches Swing, so the games run without a display and never block on a dialog.
+ *
+ * @author Caleb Brost
+ * @version 1.0
+ * @since 2025
+ */
+public final class HeadlessGame {
+    private static final int DEFAULT_GAMES = 100000;
+
+    private HeadlessGame() {
+    }
+
+    /**
+     * Plays one game to the end on a board, alternating turns starting with the first player.
+     * A player that returns an illegal move loses the game.
+     *
+     * @param board The board to play on, which should be empty
+     * @param first The player that moves first
+     * @param second The player that moves second
+     * @return The winning player, or null if the game was a tie or a player quit
+     */
+    public static Player play(Board board, Player first, Player second) {
+        Player current = first;
+        Player waiting = second;
+        while (true) {
+            Move move = Metrics.move(current, board);
+            if (move == null) { // player quit
+                Metrics.gameEnd(board, null);
+                return null;
+            }
+            if (!board.makeMove(move.getColumn(), current)) { // illegal move forfeits the game
+                Metrics.gameEnd(board, waiting);
+                return waiting;
+            }
+            if (board.win(move.getColumn(), current) != null) {
+                Metrics.gameEnd(board, current);
+                return current;
+            }
+            if (board.tie()) {
+                Metrics.gameEnd(board, null);
+                return null;
+            }
+            Player next = waiting;
+            waiting = current;
+            current = next;
+        }
+    }
+
+    /**
+     * Plays a number of random games and prints how fast they ran, optionally archiving every game.
+     *
+     * @param args Optional number of games, rows, cols and archive file
+     * @throws IOException If the archive can not be written
+     */
+    public static void main(String[] args) throws IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+        Board board = args.length > 2 ? new Board(Integer.parseInt(args[1]), Integer.parseInt(args[2])) : new Board();
+        GameRecord.Writer archive = args.length > 3 ? new GameRecord.Writer(Paths.get(args[3])) : null;
+        Player first = new RandomPlayer();
+        Player second = new RandomPlayer();
+
+        int firstWins = 0;
+        int secondWins = 0;
+        long gameStart = System.nanoTime();
+        for (int i = 0; i < games; i++) {
+            board.initialize();
+            Player winner = play(board, first, second);
+            if (archive != null) {
+                archive.write(GameRecord.of(board, winner));
+            }
+            if (winner == first) {
+                firstWins++;
+            } else if (winner == second) {
+                secondWins++;
+            }
+        }
+        if (archive != null) {
+            archive.close();
+        }
+        long end = System.nanoTime();
+
+        double seconds = (end - gameStart) / 1e9;
+        System.out.printf("%d games on %d x %d in %.2f s (%.0f games/sec)%n",
+            games, board.getRows(), board.getColumns(), seconds, games / seconds);
+        System.out.printf("first: %d, second: %d, ties: %d%n", firstWins, secondWins, games - firstWins - secondWins);
+        if (Metrics.ENABLED) {
+            System.out.print(Metrics.snapshot());
+        }
+    }
+}
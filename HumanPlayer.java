@@ -9,11 +9,16 @@ import javax.swing.JOptionPane;
  * @since 2025
  */
 public class HumanPlayer extends Player {
+    private final JOptionPane frame;
+
     /**
      * Constructor for the HumanPlayer class.
+     *
+     * @param frame The JOptionPane used for asking the player for moves
      */
     public HumanPlayer(JOptionPane frame) {
-        super("Red", frame);
+        super("Red");
+        this.frame = frame;
     }
 
     /**
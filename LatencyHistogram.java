@@ -0,0 +1,131 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts durations in buckets that grow with the duration, like an HDR histogram, so any percentile can be read
+ * back to within about 3% of the true value over the whole range of a long.
+ *
+ * <p>Durations below 64 have a bucket each. Above that, every power of two is split into 32 equal buckets, so the
+ * width of a bucket is at most 1/32 of the values in it. That comes to 1888 buckets for any duration from one
+ * nanosecond to centuries, and recording a value is a couple of shifts and an atomic increment, which many threads
+ * can do at once without a lock.
+ *
+ * @author Caleb Brost
+ * @version 1.0
+ * @since 2025
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS; // buckets per power of two
+    private static final int BUCKETS = (Long.SIZE - SUB_BITS - 2) * SUB_BUCKETS + 2 * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Records one duration.
+     *
+     * @param nanos The duration in nanoseconds, where negative values count as zero
+     */
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        this.counts.incrementAndGet(bucket(value));
+        this.count.increment();
+        this.total.add(value);
+        this.max.accumulate(value);
+    }
+
+    /**
+     * Gets the number of durations recorded.
+     *
+     * @return The count
+     */
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * Gets the sum of every duration recorded.
+     *
+     * @return The total in nanoseconds
+     */
+    public long getTotalNanos() {
+        return this.total.sum();
+    }
+
+    /**
+     * Gets the longest duration recorded.
+     *
+     * @return The exact maximum in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getMaxNanos() {
+        return this.max.get();
+    }
+
+    /**
+     * Gets the average duration.
+     *
+     * @return The mean in nanoseconds, or 0 if nothing was recorded
+     */
+    public double getMeanNanos() {
+        long n = this.getCount();
+        return n == 0 ? 0.0 : (double) this.getTotalNanos() / n;
+    }
+
+    /**
+     * Gets the duration that a share of the recorded durations do not exceed.
+     *
+     * @param percentile The share in percent, from 0 to 100
+     * @return The highest duration in the bucket holding the percentile, never more than the maximum, or 0 if
+     *     nothing was recorded
+     */
+    public long getPercentileNanos(double percentile) {
+        long recorded = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = this.counts.get(i);
+            recorded += snapshot[i];
+        }
+        if (recorded == 0) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * recorded));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(highestInBucket(i), this.getMaxNanos());
+            }
+        }
+        return this.getMaxNanos();
+    }
+
+    /**
+     * Gets the bucket a value is counted in.
+     *
+     * @param value A duration of at least zero
+     * @return The bucket index
+     */
+    static int bucket(long value) {
+        int shift = Math.max(0, Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BITS - 1);
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    /**
+     * Gets the highest value counted in a bucket.
+     *
+     * @param bucket The bucket index
+     * @return The highest duration the bucket holds
+     */
+    static long highestInBucket(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long sub = bucket % SUB_BUCKETS + SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+}
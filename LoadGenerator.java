@@ -0,0 +1,286 @@
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.SplittableRandom;
+
+/**
+ * Plays many games against a {@link GameServer} at once to see how it holds up.
+ *
+ * <p>Run with {@code java LoadGenerator [host] [port] [clients] [games] [rows cols] [ai|human]}. Every client
+ * is one connection that plays random legal columns as soon as it is its turn, so the time the server takes is
+ * all that is measured. All clients run on one thread with a {@link Selector}. A human game pairs two of the
+ * clients with each other. The latency of a move is the time from sending it to reading the opponent's reply,
+ * which against the computer covers the server's search and against another client covers a round trip
+ * through both connections.
+ *
+ * @author Caleb Brost
+ * @version 1.0
+ * @since 2025
+ */
+public final class LoadGenerator {
+    private final Selector selector;
+    private final int rows;
+    private final int cols;
+    private final String mode;
+    private long[] latencies = new long[1024];
+    private int latencyCount;
+    private long gamesFinished;
+    private long abandoned;
+    private long errors;
+    private int open;
+
+    /**
+     * Constructor for the LoadGenerator class.
+     *
+     * @param rows The number of rows on the board
+     * @param cols The number of columns on the board
+     * @param mode "ai" or "human"
+     * @throws IOException If the selector can not be opened
+     */
+    private LoadGenerator(int rows, int cols, String mode) throws IOException {
+        this.selector = Selector.open();
+        this.rows = rows;
+        this.cols = cols;
+        this.mode = mode;
+    }
+
+    /**
+     * Runs the load generator from the command line and prints throughput and latency percentiles.
+     *
+     * @param args Optional host, port, clients, games per client, rows, cols and opponent
+     * @throws IOException If a connection fails
+     */
+    public static void main(String[] args) throws IOException {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 4444;
+        int clients = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        int games = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        int rows = args.length > 4 ? Integer.parseInt(args[4]) : 6;
+        int cols = args.length > 5 ? Integer.parseInt(args[5]) : 7;
+        String mode = args.length > 6 ? args[6] : "ai";
+
+        LoadGenerator generator = new LoadGenerator(rows, cols, mode);
+        InetSocketAddress address = new InetSocketAddress(host, port);
+        long start = System.nanoTime();
+        for (int i = 0; i < clients; i++) {
+            generator.connect(address, games, i);
+        }
+        generator.run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long[] sorted = Arrays.copyOf(generator.latencies, generator.latencyCount);
+        Arrays.sort(sorted);
+        System.out.printf("%d clients, %d games (%d abandoned, %d errors) in %.2f s: %.0f games/sec, %.0f moves/sec%n",
+            clients, generator.gamesFinished, generator.abandoned, generator.errors, seconds,
+            generator.gamesFinished / seconds, sorted.length / seconds);
+        System.out.printf("move latency ms: p50 %.3f, p90 %.3f, p99 %.3f, max %.3f%n", percentile(sorted, 0.5),
+            percentile(sorted, 0.9), percentile(sorted, 0.99), percentile(sorted, 1));
+    }
+
+    /**
+     * Opens one client connection.
+     *
+     * @param address The server address
+     * @param games The number of games the client plays
+     * @param seed The seed for the client's moves
+     * @throws IOException If the connection fails
+     */
+    private void connect(InetSocketAddress address, int games, long seed) throws IOException {
+        SocketChannel channel = SocketChannel.open(address);
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+        Client client = new Client(channel, games, seed);
+        channel.register(this.selector, SelectionKey.OP_READ, client);
+        this.open++;
+        client.send("NEW " + this.rows + " " + this.cols + " " + this.mode);
+    }
+
+    /**
+     * Reads from every client until they have all played their games.
+     *
+     * @throws IOException If the selector fails
+     */
+    private void run() throws IOException {
+        while (this.open > 0) {
+            this.selector.select();
+            Iterator<SelectionKey> keys = this.selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                if (key.isValid() && key.isReadable()) {
+                    ((Client) key.attachment()).read();
+                }
+            }
+        }
+        this.selector.close();
+    }
+
+    /**
+     * Records the latency of one move.
+     *
+     * @param nanos The latency in nanoseconds
+     */
+    private void record(long nanos) {
+        if (this.latencyCount == this.latencies.length) {
+            this.latencies = Arrays.copyOf(this.latencies, this.latencies.length * 2);
+        }
+        this.latencies[this.latencyCount++] = nanos;
+    }
+
+    /**
+     * Gets a percentile of sorted latencies.
+     *
+     * @param sorted The latencies in nanoseconds, in ascending order
+     * @param fraction The percentile as a fraction between 0 and 1
+     * @return The latency in milliseconds, or 0 if there are none
+     */
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(fraction * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    /**
+     * One connection playing random columns.
+     */
+    private final class Client {
+        private final SocketChannel channel;
+        private final ByteBuffer in = ByteBuffer.allocate(256);
+        private final SplittableRandom random;
+        private final int[] heights = new int[LoadGenerator.this.cols];
+        private int gamesLeft;
+        private long sentAt; // System.nanoTime when the last move was sent, 0 if none is pending
+
+        /**
+         * Constructs a new Client.
+         *
+         * @param channel The connection to the server
+         * @param games The number of games to play
+         * @param seed The seed for the client's moves
+         */
+        private Client(SocketChannel channel, int games, long seed) {
+            this.channel = channel;
+            this.gamesLeft = games;
+            this.random = new SplittableRandom(seed);
+        }
+
+        /**
+         * Reads what the server sent and handles every complete line.
+         *
+         * @throws IOException If the socket fails
+         */
+        private void read() throws IOException {
+            if (this.channel.read(this.in) < 0) {
+                this.close();
+                return;
+            }
+            this.in.flip();
+            int start = 0;
+            for (int i = 0; i < this.in.limit(); i++) {
+                if (this.in.get(i) == '\n') {
+                    this.handle(new String(this.in.array(), start, i - start, StandardCharsets.US_ASCII));
+                    start = i + 1;
+                }
+            }
+            this.in.position(start);
+            this.in.compact();
+        }
+
+        /**
+         * Handles one line from the server.
+         *
+         * @param line The line without its newline
+         * @throws IOException If the socket fails
+         */
+        private void handle(String line) throws IOException {
+            String[] words = line.split(" ");
+            switch (words[0]) {
+                case "GAME":
+                    Arrays.fill(this.heights, 0);
+                    this.sentAt = 0;
+                    if (words[3].equals("FIRST")) {
+                        this.move();
+                    }
+                    break;
+                case "OPPONENT":
+                    if (this.sentAt != 0) {
+                        LoadGenerator.this.record(System.nanoTime() - this.sentAt);
+                        this.sentAt = 0;
+                    }
+                    this.heights[Integer.parseInt(words[1])]++;
+                    this.move();
+                    break;
+                case "END":
+                    if (this.sentAt != 0 && words.length > 2) {
+                        LoadGenerator.this.record(System.nanoTime() - this.sentAt); // the reply ended the game
+                    }
+                    LoadGenerator.this.gamesFinished++;
+                    if (words[1].equals("ABANDONED")) {
+                        LoadGenerator.this.abandoned++;
+                    }
+                    if (--this.gamesLeft > 0) {
+                        this.send("NEW " + LoadGenerator.this.rows + " " + LoadGenerator.this.cols + " "
+                            + LoadGenerator.this.mode);
+                    } else {
+                        this.close();
+                    }
+                    break;
+                case "ERROR":
+                    LoadGenerator.this.errors++;
+                    break;
+                default: // WAIT and STATS need no reply
+            }
+        }
+
+        /**
+         * Plays a random column that is not full, unless the board is full and the end is on its way.
+         *
+         * @throws IOException If the socket fails
+         */
+        private void move() throws IOException {
+            int col = this.random.nextInt(this.heights.length);
+            for (int tries = 0; tries < this.heights.length; tries++) {
+                if (this.heights[col] < LoadGenerator.this.rows) {
+                    this.heights[col]++;
+                    this.sentAt = System.nanoTime();
+                    this.send("MOVE " + col);
+                    return;
+                }
+                col = (col + 1) % this.heights.length;
+            }
+        }
+
+        /**
+         * Sends a line, waiting for room in the socket if it is full. Lines are short, so it never waits long.
+         *
+         * @param line The line without its newline
+         * @throws IOException If the socket fails
+         */
+        private void send(String line) throws IOException {
+            ByteBuffer out = ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.US_ASCII));
+            while (out.hasRemaining()) {
+                this.channel.write(out);
+            }
+        }
+
+        /**
+         * Closes the connection.
+         *
+         * @throws IOException If the socket fails
+         */
+        private void close() throws IOException {
+            if (this.channel.isOpen()) {
+                this.channel.close();
+                LoadGenerator.this.open--;
+            }
+        }
+    }
+}
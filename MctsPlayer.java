@@ -0,0 +1,414 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+/**
+ * Represents a computer player that picks moves with Monte Carlo tree search.
+ *
+ * <p>The search runs with root parallelism on a {@link ForkJoinPool}: every worker grows its own tree from a
+ * private copy of the board, so workers share nothing but the playout budget while they run. When the time or
+ * playout budget is used up, the visit counts of the root columns are added together and the most visited
+ * column is played. Playouts pick random legal columns the same way {@link RandomPlayer} does.
+ *
+ * @author Caleb Brost
+ * @version 1.0
+ * @since 2025
+ */
+public class MctsPlayer extends Player {
+    private static final long DEFAULT_TIME_BUDGET_MILLIS = 1000;
+    private static final double EXPLORATION = Math.sqrt(2);
+    private static final int PLAYOUT_CHUNK = 64; // playouts a worker claims from the shared budget at once
+
+    private final ForkJoinPool pool;
+    private final long timeBudgetNanos;
+    private final long playoutBudget;
+    private final SplittableRandom random;
+    private final Player standIn = new RandomPlayer(); // moves for the opponent before it has played
+    private long lastPlayouts;
+    private double lastConfidence;
+    private long lastNanos;
+
+    /**
+     * Constructor for the MctsPlayer class that thinks for one second on every core.
+     */
+    public MctsPlayer() {
+        this(DEFAULT_TIME_BUDGET_MILLIS, Long.MAX_VALUE, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor for the MctsPlayer class.
+     *
+     * @param timeBudgetMillis The wall-clock time to search for on every move
+     * @param playoutBudget The most playouts to run on every move
+     * @param threads The number of worker threads
+     */
+    public MctsPlayer(long timeBudgetMillis, long playoutBudget, int threads) {
+        this(timeBudgetMillis, playoutBudget, threads, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Constructor for the MctsPlayer class with a fixed random seed.
+     *
+     * @param timeBudgetMillis The wall-clock time to search for on every move
+     * @param playoutBudget The most playouts to run on every move
+     * @param threads The number of worker threads
+     * @param seed The seed the workers' random number generators are split from
+     */
+    public MctsPlayer(long timeBudgetMillis, long playoutBudget, int threads, long seed) {
+        super("Yellow");
+        this.pool = new ForkJoinPool(threads);
+        this.timeBudgetNanos = timeBudgetMillis * 1000000L;
+        this.playoutBudget = playoutBudget;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Gets the move for the Monte Carlo player
+     *
+     * @param board The current game board
+     * @return A Move object representing the player's move, or null if the board is full
+     */
+    @Override
+    public Move getMove(Board board) {
+        long start = System.nanoTime();
+        if (board.tie()) {
+            return null;
+        }
+        Player opponent = board.getOpponent(this);
+        if (opponent == null) {
+            opponent = this.standIn;
+        }
+
+        // Grow one tree per worker
+        AtomicLong budget = new AtomicLong(this.playoutBudget);
+        List<Search> searches = new ArrayList<>();
+        for (int i = 0; i < this.pool.getParallelism(); i++) {
+            Search search = new Search(new Board(board), opponent, this.random.split(), start + this.timeBudgetNanos, budget);
+            searches.add(search);
+            this.pool.execute(search);
+        }
+
+        // Add up the root statistics of every tree
+        long[] visits = new long[board.getColumns()];
+        double[] wins = new double[board.getColumns()];
+        for (Search search : searches) {
+            search.join();
+            for (Node child : search.root.children) {
+                if (child != null) {
+                    visits[child.col] += child.visits;
+                    wins[child.col] += child.wins;
+                }
+            }
+        }
+
+        int best = -1;
+        long playouts = 0;
+        for (int col = 0; col < visits.length; col++) {
+            playouts += visits[col];
+            if (!board.isColumnFull(col) && (best < 0 || visits[col] > visits[best])) {
+                best = col;
+            }
+        }
+        this.lastPlayouts = playouts;
+        this.lastConfidence = visits[best] == 0 ? 0.0 : wins[best] / visits[best];
+        this.lastNanos = System.nanoTime() - start;
+        return new Move(best);
+    }
+
+    /**
+     * Shuts down the worker pool.
+     */
+    @Override
+    public void close() {
+        this.pool.shutdownNow();
+    }
+
+    /**
+     * Gets the number of playouts run for the last move.
+     *
+     * @return The playout count over all workers
+     */
+    public long getLastPlayouts() {
+        return this.lastPlayouts;
+    }
+
+    /**
+     * Gets the number of playouts run for the last move, counting every playout as one node searched.
+     *
+     * @return The playout count over all workers
+     */
+    @Override
+    public long getLastNodes() {
+        return this.lastPlayouts;
+    }
+
+    /**
+     * Gets how sure the player was of the last move, as the share of playouts through it that were won.
+     * Draws count as half a win.
+     *
+     * @return A value from 0 to 1
+     */
+    public double getLastConfidence() {
+        return this.lastConfidence;
+    }
+
+    /**
+     * Gets how long the last move took to find.
+     *
+     * @return The time in nanoseconds
+     */
+    public long getLastNanos() {
+        return this.lastNanos;
+    }
+
+    /**
+     * Returns the player type.
+     * @return 'Y' for Yellow player.
+     */
+    @Override
+    public char getPlayerType() {
+        return 'Y';
+    }
+
+    /**
+     * A node in a search tree, reached by playing a column from its parent.
+     */
+    private static final class Node {
+        private final int col;
+        private final Node parent;
+        private final Node[] children; // indexed by column, null until expanded
+        private int visits;
+        private double wins; // for the player who played the column into this node
+        private boolean terminal;
+        private double terminalValue;
+
+        /**
+         * Constructs a new Node.
+         *
+         * @param col The column played to reach this node, or -1 for the root
+         * @param parent The parent node, or null for the root
+         * @param cols The number of columns on the board
+         */
+        private Node(int col, Node parent, int cols) {
+            this.col = col;
+            this.parent = parent;
+            this.children = new Node[cols];
+        }
+    }
+
+    /**
+     * One worker's search, growing its own tree on its own copy of the board.
+     */
+    private final class Search extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final Board board;
+        private final Player opponent;
+        private final RandomGenerator random;
+        private final long deadline;
+        private final AtomicLong budget;
+        private final Node root;
+        private final int rootMoves;
+
+        /**
+         * Constructs a new Search.
+         *
+         * @param board A copy of the board to search, owned by this worker
+         * @param opponent The player to move after this player
+         * @param random The random number generator of this worker
+         * @param deadline The System.nanoTime value to stop at
+         * @param budget The playouts left to share between the workers
+         */
+        private Search(Board board, Player opponent, RandomGenerator random, long deadline, AtomicLong budget) {
+            this.board = board;
+            this.opponent = opponent;
+            this.random = random;
+            this.deadline = deadline;
+            this.budget = budget;
+            this.root = new Node(-1, null, board.getColumns());
+            this.rootMoves = board.getMoveCount();
+        }
+
+        /**
+         * Runs playouts until the time or the shared playout budget is used up.
+         */
+        @Override
+        protected void compute() {
+            long claimed = 0;
+            while (System.nanoTime() < this.deadline) {
+                if (claimed == 0) {
+                    claimed = this.claim();
+                    if (claimed == 0) {
+                        return;
+                    }
+                }
+                claimed--;
+                this.playout();
+            }
+        }
+
+        /**
+         * Takes a chunk of playouts from the shared budget.
+         *
+         * @return The number of playouts claimed, or 0 if the budget is used up
+         */
+        private long claim() {
+            long left = this.budget.get();
+            while (left > 0) {
+                long take = Math.min(left, PLAYOUT_CHUNK);
+                if (this.budget.compareAndSet(left, left - take)) {
+                    return take;
+                }
+                left = this.budget.get();
+            }
+            return 0;
+        }
+
+        /**
+         * Selects a path down the tree, adds one node, plays the game out randomly and records the result.
+         */
+        private void playout() {
+            Node node = this.root;
+            Player mover = MctsPlayer.this;
+
+            // Walk down fully expanded nodes, adding the first node with an untried column
+            while (!node.terminal) {
+                int col = this.untriedColumn(node);
+                if (col >= 0) {
+                    node = this.expand(node, col, mover);
+                    mover = this.next(mover);
+                    break;
+                }
+                node = this.select(node);
+                this.board.placeDisc(node.col, mover);
+                mover = this.next(mover);
+            }
+
+            // Score the new node for the player who moved into it
+            double result;
+            if (node.terminal) {
+                result = node.terminalValue;
+            } else {
+                Player winner = this.rollout(mover);
+                result = winner == null ? 0.5 : winner == mover ? 0.0 : 1.0;
+            }
+
+            // Record the result up the tree, flipping it for each player
+            for (Node n = node; n != null; n = n.parent) {
+                n.visits++;
+                n.wins += result;
+                result = 1.0 - result;
+            }
+
+            // Take back every disc played since the root
+            while (this.board.getMoveCount() > this.rootMoves) {
+                this.board.undoMove();
+            }
+        }
+
+        /**
+         * Picks a random legal column of a node that has no child yet.
+         *
+         * @param node The node to look at
+         * @return The column index, or -1 if every legal column has a child
+         */
+        private int untriedColumn(Node node) {
+            int untried = 0;
+            for (int col = 0; col < node.children.length; col++) {
+                if (node.children[col] == null && !this.board.isColumnFull(col)) {
+                    untried++;
+                }
+            }
+            if (untried == 0) {
+                return -1;
+            }
+            int pick = this.random.nextInt(untried);
+            for (int col = 0; col < node.children.length; col++) {
+                if (node.children[col] == null && !this.board.isColumnFull(col) && pick-- == 0) {
+                    return col;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Plays a column and adds the node it leads to.
+         *
+         * @param node The parent node
+         * @param col The column to play
+         * @param mover The player to move at the parent node
+         * @return The new child node
+         */
+        private Node expand(Node node, int col, Player mover) {
+            this.board.placeDisc(col, mover);
+            Node child = new Node(col, node, node.children.length);
+            if (this.board.findWinner(col, mover) != null) {
+                child.terminal = true;
+                child.terminalValue = 1.0;
+            } else if (this.board.tie()) {
+                child.terminal = true;
+                child.terminalValue = 0.5;
+            }
+            node.children[col] = child;
+            return child;
+        }
+
+        /**
+         * Picks the child with the best upper confidence bound.
+         *
+         * @param node A node whose legal columns all have children
+         * @return The selected child
+         */
+        private Node select(Node node) {
+            double logVisits = Math.log(node.visits);
+            Node best = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (Node child : node.children) {
+                if (child != null) {
+                    double value = child.wins / child.visits + EXPLORATION * Math.sqrt(logVisits / child.visits);
+                    if (value > bestValue) {
+                        bestValue = value;
+                        best = child;
+                    }
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Plays random legal columns until the game ends.
+         *
+         * @param mover The player to move first
+         * @return The winning player, or null for a tie
+         */
+        private Player rollout(Player mover) {
+            while (true) {
+                int col = RandomPlayer.randomColumn(this.board, this.random);
+                if (col < 0) {
+                    return null;
+                }
+                this.board.placeDisc(col, mover);
+                if (this.board.findWinner(col, mover) != null) {
+                    return mover;
+                }
+                if (this.board.tie()) {
+                    return null;
+                }
+                mover = this.next(mover);
+            }
+        }
+
+        /**
+         * Gets the player to move after another.
+         *
+         * @param mover The player that just moved
+         * @return The other player
+         */
+        private Player next(Player mover) {
+            return mover == MctsPlayer.this ? this.opponent : MctsPlayer.this;
+        }
+    }
+}
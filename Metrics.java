@@ -0,0 +1,406 @@
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MutableCallSite;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Records where the time of a game goes: how long each kind of player takes to move, how many positions a search
+ * player looks at per second, and how long the board takes to play a disc, to check for a win and to be drawn.
+ *
+ * <p>The timers are off unless the JVM is started with {@code -Dconnectfour.metrics=true}. The switch is a
+ * static final field, so when it is off the JIT compiler drops the timing code from {@link Board} and
+ * {@link GUIBoard} altogether and a move costs what it did before. Everything the timers keep, and their
+ * registration with JMX and the flight recorder, lives in a holder class that is only loaded once something is
+ * recorded, so with the switch off a game never loads it. Only the discs of the game itself are timed: the
+ * moves search players try out on their own boards are not. When it is on, durations go into
+ * {@link LatencyHistogram}s that any thread can record into without locking, and a snapshot of them all can be
+ * taken at any time with {@link #snapshot()}, or from outside the process through the
+ * {@code ConnectFour:type=Metrics} MBean, for example with JConsole.
+ *
+ * <p>With the switch on, every move and every game end is also a Java Flight Recorder event,
+ * {@code connectfour.Move} and {@code connectfour.GameEnd}, recorded whenever a recording is running, such as one
+ * started with {@code -XX:StartFlightRecording} or {@code jcmd <pid> JFR.start}. Whether one is running is kept
+ * in a call site that a recorder listener retargets, which the JIT compiler folds into a constant and recompiles
+ * around when it changes, so without a recording no event is even created. Checking a volatile flag instead
+ * measurably slows down games of fast players.
+ *
+ * @author Caleb Brost
+ * @version 1.0
+ * @since 2025
+ */
+public final class Metrics {
+    /** Whether the timers are on, read once from the connectfour.metrics system property. */
+    public static final boolean ENABLED = Boolean.getBoolean("connectfour.metrics");
+
+    private Metrics() {
+    }
+
+    /**
+     * Asks a player for a move, recording how long it took and how many positions the player searched.
+     *
+     * @param player The player to move
+     * @param board The current game board
+     * @return The player's choice, or null if the player quits
+     */
+    public static Move move(Player player, Board board) {
+        if (!ENABLED) {
+            return player.getMove(board);
+        }
+        return Recorder.timedMove(player, board);
+    }
+
+    /**
+     * Asks a player for a move that arrives later, such as a click, recording how long it took to arrive.
+     *
+     * @param player The player to move
+     * @param board The current game board
+     * @param request Asks the player for the move
+     * @return The player's choice once it arrives, or null if the player quits
+     */
+    public static CompletableFuture<Move> move(Player player, Board board,
+            Supplier<CompletableFuture<Move>> request) {
+        if (!ENABLED) {
+            return request.get();
+        }
+        return Recorder.timedMove(player, board, request);
+    }
+
+    /**
+     * Records the end of a game.
+     *
+     * @param board The board the game was played on
+     * @param winner The player who won, or null if nobody did
+     */
+    public static void gameEnd(Board board, Player winner) {
+        if (ENABLED) {
+            Recorder.gameEnd(board, winner);
+        }
+    }
+
+    /**
+     * Records how long the board took to play a disc. Only called when the timers are on.
+     *
+     * @param nanos The duration in nanoseconds
+     */
+    static void boardMove(long nanos) {
+        Recorder.BOARD_MOVES.record(nanos);
+    }
+
+    /**
+     * Records how long the board took to check for a win. Only called when the timers are on.
+     *
+     * @param nanos The duration in nanoseconds
+     */
+    static void boardWin(long nanos) {
+        Recorder.BOARD_WINS.record(nanos);
+    }
+
+    /**
+     * Records how long the window took to update. Only called when the timers are on.
+     *
+     * @param nanos The duration in nanoseconds
+     */
+    static void render(long nanos) {
+        Recorder.RENDERS.record(nanos);
+    }
+
+    /**
+     * Gets the move latency histogram of a kind of player.
+     *
+     * @param playerClass The simple class name of the player, such as "NegamaxPlayer"
+     * @return The histogram, or null if the timers are off or no such player has moved
+     */
+    public static LatencyHistogram getMoveLatency(String playerClass) {
+        if (!ENABLED) {
+            return null;
+        }
+        PlayerStats stats = Recorder.PLAYERS.get(playerClass);
+        return stats == null ? null : stats.latency;
+    }
+
+    /**
+     * Describes everything recorded so far as a table, one line per kind of player and per board operation.
+     * Latencies are in microseconds.
+     *
+     * @return The snapshot
+     */
+    public static String snapshot() {
+        if (!ENABLED) {
+            return "Timers are off, start with -Dconnectfour.metrics=true to turn them on\n";
+        }
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%d games%n", Recorder.GAMES.sum()));
+        out.append(String.format("%-22s %10s %10s %10s %10s %10s %10s %12s%n", "timer", "count", "mean", "p50", "p90",
+            "p99", "max", "nodes/s"));
+        for (Map.Entry<String, PlayerStats> entry : new TreeMap<>(Recorder.PLAYERS).entrySet()) {
+            PlayerStats stats = entry.getValue();
+            long nanos = stats.latency.getTotalNanos();
+            long nodes = stats.nodes.sum();
+            appendRow(out, "move " + entry.getKey(), stats.latency,
+                nodes == 0 || nanos == 0 ? "-" : String.format("%.0f", nodes / (nanos / 1e9)));
+        }
+        appendRow(out, "Board.makeMove", Recorder.BOARD_MOVES, "-");
+        appendRow(out, "Board.win", Recorder.BOARD_WINS, "-");
+        appendRow(out, "GUIBoard.updateBoard", Recorder.RENDERS, "-");
+        return out.toString();
+    }
+
+    /**
+     * Adds one line of the snapshot table.
+     *
+     * @param out The table so far
+     * @param name The name of the timer
+     * @param histogram The durations of the timer
+     * @param rate The nodes per second column
+     */
+    private static void appendRow(StringBuilder out, String name, LatencyHistogram histogram, String rate) {
+        out.append(String.format("%-22s %10d %10.1f %10.1f %10.1f %10.1f %10.1f %12s%n", name, histogram.getCount(),
+            histogram.getMeanNanos() / 1e3, histogram.getPercentileNanos(50) / 1e3,
+            histogram.getPercentileNanos(90) / 1e3, histogram.getPercentileNanos(99) / 1e3,
+            histogram.getMaxNanos() / 1e3, rate));
+    }
+
+    /**
+     * Holds everything the timers keep, so none of it is created or registered until the timers are used.
+     */
+    private static final class Recorder {
+        private static final Map<String, PlayerStats> PLAYERS = new ConcurrentHashMap<>();
+        private static final LatencyHistogram BOARD_MOVES = new LatencyHistogram();
+        private static final LatencyHistogram BOARD_WINS = new LatencyHistogram();
+        private static final LatencyHistogram RENDERS = new LatencyHistogram();
+        private static final LongAdder GAMES = new LongAdder();
+        // whether a flight recording is running, as a call site the JIT compiler treats as a constant
+        private static final MutableCallSite RECORDING =
+            new MutableCallSite(MethodHandles.constant(boolean.class, false));
+        private static final MethodHandle IS_RECORDING = RECORDING.dynamicInvoker();
+
+        static {
+            FlightRecorder.addListener(new FlightRecorderListener() {
+                @Override
+                public void recorderInitialized(FlightRecorder recorder) {
+                    updateRecording(recorder);
+                }
+
+                @Override
+                public void recordingStateChanged(Recording changed) {
+                    updateRecording(FlightRecorder.getFlightRecorder());
+                }
+            });
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(new SnapshotBean(),
+                    new ObjectName("ConnectFour:type=Metrics"));
+            } catch (JMException e) {
+                System.err.println("Metrics are not available over JMX: " + e.getMessage());
+            }
+        }
+
+        /**
+         * Asks a player for a move, recording it in the histograms and, if a recording is running, as an event.
+         *
+         * @param player The player to move
+         * @param board The current game board
+         * @return The player's choice, or null if the player quits
+         */
+        private static Move timedMove(Player player, Board board) {
+            MoveEvent event = new MoveEvent();
+            long start = System.nanoTime();
+            event.begin();
+            Move move = player.getMove(board);
+            recordMove(player, board.getMoveCount() + 1, move, event, start);
+            return move;
+        }
+
+        /**
+         * Asks a player for a move that arrives later, recording it once it arrives.
+         *
+         * @param player The player to move
+         * @param board The current game board
+         * @param request Asks the player for the move
+         * @return The player's choice once it arrives, or null if the player quits
+         */
+        private static CompletableFuture<Move> timedMove(Player player, Board board,
+                Supplier<CompletableFuture<Move>> request) {
+            MoveEvent event = new MoveEvent();
+            long start = System.nanoTime();
+            int moveNumber = board.getMoveCount() + 1; // the board may have changed by the time the move arrives
+            event.begin();
+            return request.get().whenComplete((move, error) -> recordMove(player, moveNumber, move, event, start));
+        }
+
+        /**
+         * Records a move that has arrived in the histograms and, if a recording is running, as an event.
+         *
+         * @param player The player that moved
+         * @param moveNumber The number of the move in the game, counting from 1
+         * @param move The player's choice, or null if the player quit
+         * @param event The event begun when the move was asked for
+         * @param start The System.nanoTime value when the move was asked for
+         */
+        private static void recordMove(Player player, int moveNumber, Move move, MoveEvent event, long start) {
+            event.end();
+            long nanos = System.nanoTime() - start;
+            PlayerStats stats = PLAYERS.computeIfAbsent(player.getClass().getSimpleName(), name -> new PlayerStats());
+            stats.latency.record(nanos);
+            stats.nodes.add(player.getLastNodes());
+            if (event.shouldCommit()) {
+                event.player = player.getClass().getSimpleName();
+                event.column = move == null ? -1 : move.getColumn();
+                event.moveNumber = moveNumber;
+                event.nodes = player.getLastNodes();
+                event.commit();
+            }
+        }
+
+        /**
+         * Counts the end of a game, and records it as an event if a recording is running.
+         *
+         * @param board The board the game was played on
+         * @param winner The player who won, or null if nobody did
+         */
+        private static void gameEnd(Board board, Player winner) {
+            GAMES.increment();
+            if (isRecording()) {
+                recordGameEnd(board, winner);
+            }
+        }
+
+        /**
+         * Records a game end event.
+         *
+         * @param board The board the game was played on
+         * @param winner The player who won, or null if nobody did
+         */
+        private static void recordGameEnd(Board board, Player winner) {
+            GameEndEvent event = new GameEndEvent();
+            if (event.shouldCommit()) {
+                event.result = winner != null ? "win" : board.tie() ? "draw" : "unfinished";
+                event.winner = winner == null ? "" : winner.getClass().getSimpleName();
+                event.moves = board.getMoveCount();
+                event.rows = board.getRows();
+                event.columns = board.getColumns();
+                event.commit();
+            }
+        }
+
+        /**
+         * Checks whether any flight recording is running.
+         *
+         * @param recorder The initialized flight recorder
+         */
+        private static void updateRecording(FlightRecorder recorder) {
+            boolean running = false;
+            for (Recording each : recorder.getRecordings()) {
+                running |= each.getState() == RecordingState.RUNNING;
+            }
+            RECORDING.setTarget(MethodHandles.constant(boolean.class, running));
+            MutableCallSite.syncAll(new MutableCallSite[] {RECORDING});
+        }
+
+        /**
+         * Checks whether any flight recording is running, at no cost once compiled.
+         *
+         * @return Returns true if events are being recorded
+         */
+        private static boolean isRecording() {
+            try {
+                return (boolean) IS_RECORDING.invokeExact();
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * The move latency and search work of one kind of player.
+     */
+    private static final class PlayerStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder nodes = new LongAdder();
+    }
+
+    /**
+     * The management interface that lets tools outside the process take a snapshot.
+     */
+    public interface SnapshotMXBean {
+        /**
+         * Describes everything recorded so far.
+         *
+         * @return The snapshot, as {@link Metrics#snapshot()} returns it
+         */
+        String getSnapshot();
+    }
+
+    /**
+     * Serves snapshots over JMX.
+     */
+    private static final class SnapshotBean implements SnapshotMXBean {
+        @Override
+        public String getSnapshot() {
+            return snapshot();
+        }
+    }
+
+    /**
+     * A Flight Recorder event for one move, lasting as long as the player took to choose it.
+     */
+    @Name("connectfour.Move")
+    @Label("Move")
+    @Category("Connect Four")
+    @Description("A player choosing a move")
+    static final class MoveEvent extends Event {
+        @Label("Player")
+        String player;
+
+        @Label("Column")
+        int column;
+
+        @Label("Move Number")
+        int moveNumber;
+
+        @Label("Nodes")
+        @Description("Positions searched for the move, 0 for players that do not search")
+        long nodes;
+    }
+
+    /**
+     * A Flight Recorder event for the end of a game.
+     */
+    @Name("connectfour.GameEnd")
+    @Label("Game End")
+    @Category("Connect Four")
+    @Description("A game that has ended")
+    static final class GameEndEvent extends Event {
+        @Label("Result")
+        @Description("win, draw or unfinished")
+        String result;
+
+        @Label("Winner")
+        String winner;
+
+        @Label("Moves")
+        int moves;
+
+        @Label("Rows")
+        int rows;
+
+        @Label("Columns")
+        int columns;
+    }
+}
@@ -0,0 +1,296 @@
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Searches a bitboard position with negamax and alpha-beta pruning.
+ *
+ * <p>Scores are seen from the player to move. A win scores {@link #WIN} minus the number of discs on the
+ * board when the winning disc lands, so faster wins score higher and the score of a position does not depend
+ * on where the search started. Positions at the depth limit are scored by counting the empty cells each player
+ * could complete a line with.
+ *
+ * <p>Several searches can share one transposition table from different threads as long as each has its own
+ * bitboard. A search given a stop flag or a deadline checks them every thousand nodes or so and unwinds without
+ * storing anything once the flag is set or the deadline has passed.
+ *
+ * @author Caleb Brost
+ * @version 1.0
+ * @since 2025
+ */
+final class Negamax {
+    static final int WIN = 1000000;
+    private static final int STOP_CHECK_INTERVAL = 1024; // nodes between two checks of the stop flag and deadline
+
+    private final BitBoard bits;
+    private final TranspositionTable table;
+    private final int[] order; // columns in the order they are tried
+    private final AtomicBoolean stop; // null if the search is never stopped early
+    private final boolean timed; // whether the deadline is checked
+    private final long deadline; // System.nanoTime value to stop at
+    private long nodes;
+    private int lastScore;
+    private boolean stopped;
+
+    /**
+     * Creates a search over a bitboard.
+     *
+     * @param bits The position to search, changed during the search and restored afterwards
+     * @param table The transposition table to read and fill
+     */
+    Negamax(BitBoard bits, TranspositionTable table) {
+        this(bits, table, centerFirst(bits.getColumns()), null);
+    }
+
+    /**
+     * Creates a search over a bitboard with its own column order that can be stopped from another thread.
+     *
+     * @param bits The position to search, changed during the search and restored afterwards
+     * @param table The transposition table to read and fill
+     * @param order The columns in the order they are tried
+     * @param stop The flag that stops the search once it is set, or null
+     */
+    Negamax(BitBoard bits, TranspositionTable table, int[] order, AtomicBoolean stop) {
+        this(bits, table, order, stop, false, 0L);
+    }
+
+    /**
+     * Creates a search over a bitboard that stops by itself at a deadline, or earlier once a flag is set.
+     *
+     * @param bits The position to search, changed during the search and restored afterwards
+     * @param table The transposition table to read and fill
+     * @param stop The flag that stops the search once it is set
+     * @param deadline The System.nanoTime value to stop at
+     */
+    Negamax(BitBoard bits, TranspositionTable table, AtomicBoolean stop, long deadline) {
+        this(bits, table, centerFirst(bits.getColumns()), stop, true, deadline);
+    }
+
+    /**
+     * Creates a search over a bitboard.
+     *
+     * @param bits The position to search, changed during the search and restored afterwards
+     * @param table The transposition table to read and fill
+     * @param order The columns in the order they are tried
+     * @param stop The flag that stops the search once it is set, or null
+     * @param timed Whether the search stops at the deadline
+     * @param deadline The System.nanoTime value to stop at
+     */
+    private Negamax(BitBoard bits, TranspositionTable table, int[] order, AtomicBoolean stop, boolean timed,
+            long deadline) {
+        this.bits = bits;
+        this.table = table;
+        this.order = order;
+        this.stop = stop;
+        this.timed = timed;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Gets the center-first column order with two neighbouring columns swapped, so that helper searches
+     * running next to each other explore the tree in slightly different orders.
+     *
+     * @param cols The number of columns on the board
+     * @param helper The number of the helper search, starting at 1
+     * @return The column indices in the order to try them
+     */
+    static int[] helperOrder(int cols, int helper) {
+        int[] order = centerFirst(cols);
+        if (cols > 1) {
+            int i = (helper - 1) % (cols - 1);
+            int swap = order[i];
+            order[i] = order[i + 1];
+            order[i + 1] = swap;
+        }
+        return order;
+    }
+
+    /**
+     * Checks whether the search was stopped before it finished. The result of a stopped search is meaningless.
+     *
+     * @return Returns true if the stop flag was seen or the deadline passed
+     */
+    boolean isStopped() {
+        return this.stopped;
+    }
+
+    /**
+     * Gets the column order that tries the center columns first.
+     *
+     * @param cols The number of columns on the board
+     * @return The column indices sorted by distance from the center
+     */
+    static int[] centerFirst(int cols) {
+        int[] order = new int[cols];
+        for (int i = 0; i < cols; i++) {
+            order[i] = cols / 2 + (1 - 2 * (i % 2)) * (i + 1) / 2;
+        }
+        return order;
+    }
+
+    /**
+     * Checks whether a score means the game is decided.
+     *
+     * @param score The score of a position
+     * @return Returns true if the score is a forced win or loss
+     */
+    static boolean isDecided(int score) {
+        return Math.abs(score) > WIN / 2;
+    }
+
+    /**
+     * Gets the number of positions visited since the search was created.
+     *
+     * @return The node count
+     */
+    long getNodes() {
+        return this.nodes;
+    }
+
+    /**
+     * Searches every legal column of the root position to a fixed depth.
+     *
+     * @param depth The number of moves to look ahead
+     * @param side The player index to move
+     * @return The best column, or -1 if the board is full
+     */
+    int bestMove(int depth, int side) {
+        int alpha = -WIN;
+        int bestCol = -1;
+        int hint = TranspositionTable.move(this.table.probe(this.bits.key(side)));
+        for (int i = -1; i < this.order.length; i++) {
+            int col = i < 0 ? hint : this.order[i];
+            if (col < 0 || (i >= 0 && col == hint) || this.bits.isColumnFull(col)) {
+                continue;
+            }
+            int score = this.scoreMove(col, depth, alpha, WIN, side);
+            if (this.stopped) {
+                return bestCol;
+            }
+            if (score > alpha || bestCol < 0) {
+                alpha = Math.max(alpha, score);
+                bestCol = col;
+            }
+        }
+        this.lastScore = alpha;
+        if (bestCol >= 0) {
+            this.table.store(this.bits.key(side), alpha, depth, TranspositionTable.EXACT, bestCol);
+        }
+        return bestCol;
+    }
+
+    /**
+     * Gets the score of the position found by the last call to bestMove.
+     *
+     * @return The score for the player to move at the root
+     */
+    int getLastScore() {
+        return this.lastScore;
+    }
+
+    /**
+     * Scores a position to a fixed depth.
+     *
+     * @param depth The number of moves to look ahead
+     * @param alpha The score the player to move is already sure of
+     * @param beta The score the opponent is already sure of
+     * @param side The player index to move
+     * @return The score for the player to move
+     */
+    int search(int depth, int alpha, int beta, int side) {
+        this.nodes++;
+        if (this.nodes % STOP_CHECK_INTERVAL == 0 && ((this.stop != null && this.stop.get())
+                || (this.timed && System.nanoTime() - this.deadline >= 0))) {
+            this.stopped = true;
+        }
+        if (this.stopped) {
+            return 0;
+        }
+        if (this.bits.isFull()) {
+            return 0;
+        }
+
+        // A win on the next disc can not be beaten
+        if ((this.bits.winningCells(side) & this.bits.playable()) != 0) {
+            return WIN - (this.bits.getMoves() + 1);
+        }
+        if (depth == 0) {
+            return this.evaluate(side);
+        }
+
+        long key = this.bits.key(side);
+        long entry = this.table.probe(key);
+        int hint = -1;
+        if (entry != 0) {
+            hint = TranspositionTable.move(entry);
+            if (TranspositionTable.depth(entry) >= depth) {
+                int score = TranspositionTable.score(entry);
+                int flag = TranspositionTable.flag(entry);
+                if (flag == TranspositionTable.EXACT) {
+                    return score;
+                } else if (flag == TranspositionTable.LOWER) {
+                    alpha = Math.max(alpha, score);
+                } else {
+                    beta = Math.min(beta, score);
+                }
+                if (alpha >= beta) {
+                    return score;
+                }
+            }
+        }
+
+        int originalAlpha = alpha;
+        int best = -WIN;
+        int bestCol = -1;
+        for (int i = -1; i < this.order.length; i++) {
+            int col = i < 0 ? hint : this.order[i];
+            if (col < 0 || (i >= 0 && col == hint) || this.bits.isColumnFull(col)) {
+                continue;
+            }
+            int score = this.scoreMove(col, depth, alpha, beta, side);
+            if (score > best) {
+                best = score;
+                bestCol = col;
+            }
+            alpha = Math.max(alpha, score);
+            if (alpha >= beta) {
+                break;
+            }
+        }
+        if (this.stopped) {
+            return 0;
+        }
+
+        int flag = best <= originalAlpha ? TranspositionTable.UPPER
+            : best >= beta ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+        this.table.store(key, best, depth, flag, bestCol);
+        return best;
+    }
+
+    /**
+     * Plays a column, scores the position that follows and takes the disc back.
+     *
+     * @param col The column to play
+     * @param depth The depth left before playing the column
+     * @param alpha The score the player to move is already sure of
+     * @param beta The score the opponent is already sure of
+     * @param side The player index to move
+     * @return The score of playing the column for the player to move
+     */
+    private int scoreMove(int col, int depth, int alpha, int beta, int side) {
+        this.bits.play(col, side);
+        int score = this.bits.connected(side)
+            ? WIN - this.bits.getMoves()
+            : -this.search(depth - 1, -beta, -alpha, 1 - side);
+        this.bits.undo(col);
+        return score;
+    }
+
+    /**
+     * Scores a position without looking further ahead.
+     *
+     * @param side The player index to move
+     * @return The number of open winning cells of the player to move minus those of the opponent
+     */
+    private int evaluate(int side) {
+        return Long.bitCount(this.bits.winningCells(side)) - Long.bitCount(this.bits.winningCells(1 - side));
+    }
+}
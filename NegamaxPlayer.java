@@ -0,0 +1,347 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Represents a computer player that looks ahead with a negamax search.
+ *
+ * <p>The player copies the board into a {@link BitBoard} and deepens the search one move at a time up to a
+ * maximum depth, trying the center columns and the best column of the previous pass first. Search results
+ * are kept in a transposition table that lives as long as the player, so later moves reuse earlier work.
+ * Boards too large for a bitboard, or with a win length other than four, are played by taking the legal column
+ * closest to the center.
+ *
+ * <p>With more than one thread the player runs a lazy SMP search: helper threads search the same position on
+ * their own bitboard copies with slightly different column orders, half of them one move deeper, and share
+ * the transposition table with the main search. The helpers only fill the table. The move comes from the main
+ * search, which finds its way through the tree faster thanks to their entries, and the helpers are stopped
+ * once it is done.
+ *
+ * <p>While the opponent picks a move, the player can ponder: a background thread searches the position after
+ * each of the opponent's possible replies, one depth at a time across all of them, into the same transposition
+ * table. Once the opponent's move arrives and pondering stops, the search for the reply finds most of its work
+ * already done.
+ *
+ * @author Caleb Brost
+ * @version 1.0
+ * @since 2025
+ */
+public class NegamaxPlayer extends Player {
+    private static final int DEFAULT_MAX_DEPTH = 12;
+    private static final int TABLE_SIZE_BITS = 20;
+
+    private final int maxDepth;
+    private final int threads;
+    private final ExecutorService helpers; // null when searching on one thread
+    private final TranspositionTable table;
+    private ExecutorService ponderer; // created on the first ponder
+    private AtomicBoolean ponderStop;
+    private Future<Long> pondering; // null when not pondering
+    private long lastPonderNodes;
+    private long lastNodes;
+    private long lastNanos;
+    private int lastDepth;
+
+    /**
+     * Constructor for the NegamaxPlayer class that searches up to the default depth.
+     */
+    public NegamaxPlayer() {
+        this(DEFAULT_MAX_DEPTH);
+    }
+
+    /**
+     * Constructor for the NegamaxPlayer class.
+     *
+     * @param maxDepth The number of moves to look ahead
+     */
+    public NegamaxPlayer(int maxDepth) {
+        this(maxDepth, 1);
+    }
+
+    /**
+     * Constructor for the NegamaxPlayer class that searches on several threads.
+     *
+     * @param maxDepth The number of moves to look ahead
+     * @param threads The number of search threads, including the main search
+     */
+    public NegamaxPlayer(int maxDepth, int threads) {
+        this(maxDepth, threads, new TranspositionTable(TABLE_SIZE_BITS));
+    }
+
+    /**
+     * Constructor for the NegamaxPlayer class that keeps its search results in a given table, such as one
+     * stored in a file by {@link TranspositionTable#mapped}.
+     *
+     * @param maxDepth The number of moves to look ahead
+     * @param threads The number of search threads, including the main search
+     * @param table The transposition table to search with
+     */
+    NegamaxPlayer(int maxDepth, int threads, TranspositionTable table) {
+        super("Yellow");
+        this.maxDepth = maxDepth;
+        this.threads = threads;
+        this.table = table;
+        this.helpers = threads > 1 ? Executors.newFixedThreadPool(threads - 1, runnable -> {
+            Thread thread = new Thread(runnable, "negamax-helper");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    /**
+     * Gets the move for the negamax player
+     *
+     * @param board The current game board
+     * @return A Move object representing the player's move, or null if the board is full
+     */
+    @Override
+    public Move getMove(Board board) {
+        this.stopPondering();
+        long start = System.nanoTime();
+        this.lastNodes = 0;
+        this.lastDepth = 0;
+        int col;
+        if (board.hasBitBoard()) {
+            col = this.search(toBitBoard(board, this));
+        } else {
+            col = centerMostColumn(board);
+        }
+        this.lastNanos = System.nanoTime() - start;
+        return col < 0 ? null : new Move(col);
+    }
+
+    /**
+     * Deepens the search until the maximum depth is reached or the game is decided.
+     *
+     * @param bits The position with this player as player index 0
+     * @return The best column found, or -1 if the board is full
+     */
+    private int search(BitBoard bits) {
+        // Start the helpers on their own copies of the position
+        AtomicBoolean stop = new AtomicBoolean();
+        List<Future<Long>> running = new ArrayList<>();
+        for (int helper = 1; helper < this.threads; helper++) {
+            BitBoard copy = new BitBoard(bits);
+            int[] order = Negamax.helperOrder(bits.getColumns(), helper);
+            int extraDepth = helper % 2;
+            running.add(this.helpers.submit(() -> this.helperSearch(copy, order, extraDepth, stop)));
+        }
+
+        Negamax negamax = new Negamax(bits, this.table);
+        int emptyCells = bits.emptyCells();
+        int best = -1;
+        for (int depth = 1; depth <= Math.min(this.maxDepth, emptyCells); depth++) {
+            best = negamax.bestMove(depth, 0);
+            this.lastDepth = depth;
+            if (best < 0 || Negamax.isDecided(negamax.getLastScore())) {
+                break;
+            }
+        }
+
+        // Stop the helpers and count their work
+        stop.set(true);
+        long nodes = negamax.getNodes();
+        for (Future<Long> helper : running) {
+            try {
+                nodes += helper.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("A helper search failed", e.getCause());
+            }
+        }
+        this.lastNodes = nodes;
+        return best;
+    }
+
+    /**
+     * Deepens a helper search until it is stopped or reaches the maximum depth.
+     *
+     * @param bits The helper's own copy of the position
+     * @param order The column order of the helper
+     * @param extraDepth How many moves deeper than the main search the helper looks
+     * @param stop The flag that stops the helper
+     * @return The number of nodes the helper searched
+     */
+    private long helperSearch(BitBoard bits, int[] order, int extraDepth, AtomicBoolean stop) {
+        Negamax negamax = new Negamax(bits, this.table, order, stop);
+        int deepest = Math.min(this.maxDepth + extraDepth, bits.emptyCells());
+        for (int depth = 1 + extraDepth; depth <= deepest && !negamax.isStopped(); depth++) {
+            negamax.bestMove(depth, 0);
+        }
+        return negamax.getNodes();
+    }
+
+    /**
+     * Starts searching the replies to every move the opponent can make on a background thread.
+     *
+     * @param board The current game board, with the opponent to move
+     */
+    @Override
+    public void ponder(Board board) {
+        this.stopPondering();
+        if (!board.hasBitBoard()) {
+            return;
+        }
+        BitBoard bits = toBitBoard(board, this);
+        if (this.ponderer == null) {
+            this.ponderer = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "negamax-ponder");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        AtomicBoolean stop = new AtomicBoolean();
+        this.ponderStop = stop;
+        this.pondering = this.ponderer.submit(() -> this.ponderSearch(bits, stop));
+    }
+
+    /**
+     * Stops the background search and waits for it to finish.
+     */
+    @Override
+    public void stopPondering() {
+        if (this.pondering == null) {
+            return;
+        }
+        this.ponderStop.set(true);
+        try {
+            this.lastPonderNodes = this.pondering.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("The ponder search failed", e.getCause());
+        } finally {
+            this.pondering = null;
+        }
+    }
+
+    /**
+     * Stops pondering and shuts down the helper and ponder threads.
+     */
+    @Override
+    public void close() {
+        this.stopPondering();
+        if (this.helpers != null) {
+            this.helpers.shutdownNow();
+        }
+        if (this.ponderer != null) {
+            this.ponderer.shutdownNow();
+        }
+    }
+
+    /**
+     * Deepens a search of the position after every opponent move, one depth at a time across all of them.
+     *
+     * @param bits The position with this player as player index 0 and the opponent to move
+     * @param stop The flag that stops the search
+     * @return The number of nodes searched
+     */
+    private long ponderSearch(BitBoard bits, AtomicBoolean stop) {
+        int[] order = Negamax.centerFirst(bits.getColumns());
+        Negamax negamax = new Negamax(bits, this.table, order, stop);
+        int deepest = Math.min(this.maxDepth, bits.emptyCells() - 1);
+        for (int depth = 1; depth <= deepest && !negamax.isStopped(); depth++) {
+            for (int col : order) {
+                if (bits.isColumnFull(col)) {
+                    continue;
+                }
+                bits.play(col, 1);
+                if (!bits.connected(1)) {
+                    negamax.bestMove(depth, 0);
+                }
+                bits.undo(col);
+                if (negamax.isStopped()) {
+                    break;
+                }
+            }
+        }
+        return negamax.getNodes();
+    }
+
+    /**
+     * Copies the discs of a board into a bitboard, with a player's discs as player index 0.
+     *
+     * @param board The board to copy
+     * @param player The player whose discs become player index 0
+     * @return A bitboard holding the same discs
+     */
+    static BitBoard toBitBoard(Board board, Player player) {
+        BitBoard bits = new BitBoard(board.getRows(), board.getColumns());
+        for (int col = 0; col < board.getColumns(); col++) {
+            for (int row = board.getRows() - 1; row >= 0; row--) { // Start from the bottom row
+                Player disc = board.getPlayerAtLocation(row, col);
+                if (disc == null) {
+                    break;
+                }
+                bits.play(col, disc == player ? 0 : 1);
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Gets the legal column closest to the center of a board.
+     *
+     * @param board The current game board
+     * @return The column index, or -1 if every column is full
+     */
+    static int centerMostColumn(Board board) {
+        for (int col : Negamax.centerFirst(board.getColumns())) {
+            if (!board.isColumnFull(col)) {
+                return col;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the number of positions searched for the last move.
+     *
+     * @return The node count
+     */
+    @Override
+    public long getLastNodes() {
+        return this.lastNodes;
+    }
+
+    /**
+     * Gets the number of positions searched while the player last pondered.
+     *
+     * @return The node count
+     */
+    public long getLastPonderNodes() {
+        return this.lastPonderNodes;
+    }
+
+    /**
+     * Gets the depth the search reached for the last move.
+     *
+     * @return The depth in moves
+     */
+    public int getLastDepth() {
+        return this.lastDepth;
+    }
+
+    /**
+     * Gets how long the last move took to find.
+     *
+     * @return The time in nanoseconds
+     */
+    public long getLastNanos() {
+        return this.lastNanos;
+    }
+
+    /**
+     * Returns the player type.
+     * @return 'Y' for Yellow player.
+     */
+    @Override
+    public char getPlayerType() {
+        return 'Y';
+    }
+}
@@ -0,0 +1,264 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Represents a precomputed table of the best column in the first positions of a game.
+ *
+ * <p>The book is a file with a 16-byte header recording the board size, the number of plies and the search
+ * depth it was built with, followed by one 12-byte record per position, sorted by position key. A record holds
+ * the bitboard key of the position for the player to move and one int packing the score with the best column
+ * in its low byte. The file is memory-mapped and searched in place with a binary search, so opening a book
+ * reads nothing up front and a lookup touches a handful of records.
+ *
+ * <p>The book is not solved. Every position is searched with the depth-limited negamax search, so a score is
+ * the heuristic value the search saw at that depth rather than the game-theoretic value {@link Solver} finds,
+ * and the column is the best one the search found. Only scores that {@link Negamax#isDecided} are exact. Solving
+ * the positions instead is too slow for a book of any use: a single 7x6 position four plies in takes the solver
+ * about two minutes.
+ *
+ * <p>Run with {@code java OpeningBook [file] [rows cols] [plies] [depth]} to build a book of every position
+ * up to a number of plies, each searched to a depth with the negamax search.
+ *
+ * @author Caleb Brost
+ * @version 1.0
+ * @since 2025
+ */
+public final class OpeningBook {
+    private static final int MAGIC = 0x43344F42; // "C4OB"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int RECORD_BYTES = 12;
+    private static final int TABLE_SIZE_BITS = 22;
+
+    private final MappedByteBuffer records;
+    private final int rows;
+    private final int cols;
+    private final int maxPlies;
+    private final int size;
+
+    /**
+     * Creates a book over a mapped file.
+     *
+     * @param records The mapped file
+     * @param rows The number of rows of the board the book was built for
+     * @param cols The number of columns of the board the book was built for
+     * @param maxPlies The number of discs in the deepest positions of the book
+     * @param size The number of records
+     */
+    private OpeningBook(MappedByteBuffer records, int rows, int cols, int maxPlies, int size) {
+        this.records = records;
+        this.rows = rows;
+        this.cols = cols;
+        this.maxPlies = maxPlies;
+        this.size = size;
+    }
+
+    /**
+     * Opens a book file.
+     *
+     * @param file The book file
+     * @return The book backed by the file
+     * @throws IOException If the file can not be mapped or is not a book
+     */
+    public static OpeningBook open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getShort(4) != VERSION
+                    || (buffer.capacity() - HEADER_BYTES) % RECORD_BYTES != 0) {
+                throw new IOException(file + " is not an opening book");
+            }
+            return new OpeningBook(buffer, buffer.get(6), buffer.get(7), buffer.getInt(8),
+                (buffer.capacity() - HEADER_BYTES) / RECORD_BYTES);
+        }
+    }
+
+    /**
+     * Gets the number of rows of the board the book was built for.
+     *
+     * @return The row count
+     */
+    public int getRows() {
+        return this.rows;
+    }
+
+    /**
+     * Gets the number of columns of the board the book was built for.
+     *
+     * @return The column count
+     */
+    public int getColumns() {
+        return this.cols;
+    }
+
+    /**
+     * Gets the number of discs in the deepest positions of the book.
+     *
+     * @return The ply count
+     */
+    public int getMaxPlies() {
+        return this.maxPlies;
+    }
+
+    /**
+     * Gets the number of positions in the book.
+     *
+     * @return The record count
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Finds the record of a position.
+     *
+     * @param key The bitboard key of the position for the player to move
+     * @return The record index, or -1 if the position is not in the book
+     */
+    int find(long key) {
+        int low = 0;
+        int high = this.size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long found = this.records.getLong(HEADER_BYTES + middle * RECORD_BYTES);
+            if (found < key) {
+                low = middle + 1;
+            } else if (found > key) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the best column of a record.
+     *
+     * @param record The record index
+     * @return The column index
+     */
+    int column(int record) {
+        return this.records.getInt(HEADER_BYTES + record * RECORD_BYTES + 8) & 0xFF;
+    }
+
+    /**
+     * Gets the score of a record.
+     *
+     * @param record The record index
+     * @return The score for the player to move from the depth-limited negamax search, in its units
+     */
+    int score(int record) {
+        return this.records.getInt(HEADER_BYTES + record * RECORD_BYTES + 8) >> 8;
+    }
+
+    /**
+     * Searches every position reachable in a number of plies from the empty board to a fixed depth and writes
+     * them to a book. Positions where the game is already over are left out.
+     *
+     * @param file The book file to write
+     * @param rows The number of rows on the board
+     * @param cols The number of columns on the board
+     * @param plies The number of discs in the deepest positions of the book
+     * @param depth The depth to search every position to
+     * @return The number of positions written
+     * @throws IOException If the file can not be written
+     */
+    public static int generate(Path file, int rows, int cols, int plies, int depth) throws IOException {
+        if (!BitBoard.fits(rows, cols)) {
+            throw new IllegalArgumentException("Board too large for an opening book: " + rows + " x " + cols);
+        }
+        Map<Long, Integer> entries = new HashMap<>();
+        TranspositionTable table = new TranspositionTable(TABLE_SIZE_BITS);
+        collect(new BitBoard(rows, cols), 0, plies, depth, table, entries);
+
+        long[] keys = new long[entries.size()];
+        int i = 0;
+        for (long key : entries.keySet()) {
+            keys[i++] = key;
+        }
+        Arrays.sort(keys);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeByte(rows);
+            out.writeByte(cols);
+            out.writeInt(plies);
+            out.writeInt(depth);
+            for (long key : keys) {
+                out.writeLong(key);
+                out.writeInt(entries.get(key));
+            }
+        }
+        return keys.length;
+    }
+
+    /**
+     * Searches a position and every position after it up to the last ply of the book.
+     *
+     * @param bits The position, changed during the walk and restored afterwards
+     * @param side The player index to move
+     * @param plies The number of discs in the deepest positions of the book
+     * @param depth The depth to search every position to
+     * @param table The transposition table shared by every search
+     * @param entries The packed score and column of every position found so far, by key
+     */
+    private static void collect(BitBoard bits, int side, int plies, int depth, TranspositionTable table,
+            Map<Long, Integer> entries) {
+        long key = bits.key(side);
+        if (entries.containsKey(key) || bits.isFull()) {
+            return;
+        }
+
+        // Deepen like the negamax player does so the shared table orders the columns well
+        Negamax negamax = new Negamax(bits, table);
+        int best = -1;
+        for (int d = 1; d <= Math.min(depth, bits.emptyCells()); d++) {
+            best = negamax.bestMove(d, side);
+            if (Negamax.isDecided(negamax.getLastScore())) {
+                break;
+            }
+        }
+        entries.put(key, (negamax.getLastScore() << 8) | best);
+
+        if (bits.getMoves() < plies) {
+            for (int col = 0; col < bits.getColumns(); col++) {
+                if (!bits.isColumnFull(col)) {
+                    bits.play(col, side);
+                    if (!bits.connected(side)) {
+                        collect(bits, 1 - side, plies, depth, table, entries);
+                    }
+                    bits.undo(col);
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds a book from the command line and prints its size and how long it took.
+     *
+     * @param args Optional file, rows, cols, plies and search depth
+     * @throws IOException If the book can not be written
+     */
+    public static void main(String[] args) throws IOException {
+        Path file = Paths.get(args.length > 0 ? args[0] : "book-7x6.bin");
+        int rows = args.length > 2 ? Integer.parseInt(args[1]) : 6;
+        int cols = args.length > 2 ? Integer.parseInt(args[2]) : 7;
+        int plies = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+        int depth = args.length > 4 ? Integer.parseInt(args[4]) : 14;
+
+        long start = System.nanoTime();
+        int positions = generate(file, rows, cols, plies, depth);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d positions up to ply %d on %d x %d, depth %d%n", positions, plies, rows, cols, depth);
+        System.out.printf("%d bytes in %s, built in %.1f s%n", Files.size(file), file, seconds);
+    }
+}
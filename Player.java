@@ -1,4 +1,6 @@
-import javax.swing.JOptionPane;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 /**
  * Represents a simple player to store the turn data.
  *
@@ -8,17 +10,15 @@ import javax.swing.JOptionPane;
  * @version 1.0
  * @since 2025
  */
-public abstract class Player {
+public abstract class Player implements AutoCloseable {
     private final String name;
-    protected JOptionPane frame;
 
     /**
      * Constructor for the Player class.
      * @param name The name of the player
      */
-    public Player(String name, JOptionPane frame) {
+    public Player(String name) {
         this.name = name;
-        this.frame = frame;
     }
 
     /**
@@ -41,4 +41,50 @@ public abstract class Player {
      * @return A Move object indicating the player's choice.
      */
     public abstract Move getMove(Board board);
+
+    /**
+     * Asks for a move without waiting for it. By default the move is found with getMove on the executor,
+     * so a slow player does not hold up the calling thread, and timed by {@link Metrics}.
+     *
+     * @param board The current game board, which must not change until the move arrives
+     * @param executor The executor to think on
+     * @return A future that completes with the player's choice, or with null if the player quits
+     */
+    public CompletableFuture<Move> requestMove(Board board, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> Metrics.move(this, board), executor);
+    }
+
+    /**
+     * Gets the number of positions searched for the last move, which {@link Metrics} turns into nodes per second.
+     * Players that do not search return 0.
+     *
+     * @return The node count
+     */
+    public long getLastNodes() {
+        return 0;
+    }
+
+    /**
+     * Starts thinking about a board in the background while the opponent picks a move.
+     * Players that do not think ahead ignore this.
+     *
+     * @param board The current game board, with the opponent to move
+     */
+    public void ponder(Board board) {
+    }
+
+    /**
+     * Stops thinking in the background and waits until the background work has stopped.
+     * Does nothing if the player is not pondering.
+     */
+    public void stopPondering() {
+    }
+
+    /**
+     * Stops the threads the player keeps for thinking. The player must not be asked for moves afterwards.
+     * Players without threads of their own have nothing to stop.
+     */
+    @Override
+    public void close() {
+    }
 }
\ No newline at end of file
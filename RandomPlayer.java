@@ -1,12 +1,11 @@
-import java.util.ArrayList;
-import java.util.List;
-import javax.swing.JOptionPane;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 /**
  * RandomPlayer class that extends Player
  */
 public class RandomPlayer extends Player {
-    public RandomPlayer(JOptionPane frame) {
-        super("Yellow", frame);
+    public RandomPlayer() {
+        super("Yellow");
     }
 
     /**
@@ -17,25 +16,38 @@ public class RandomPlayer extends Player {
      */
     @Override
     public Move getMove(Board board) {
-        List<Integer> validColumns = new ArrayList<>();
-        
-        // Check for valid columns
+        int selectedColumn = randomColumn(board, ThreadLocalRandom.current());
+        return selectedColumn < 0 ? null : new Move(selectedColumn);
+    }
+
+    /**
+     * Picks a random column that is not full without allocating. Other players reuse this for random playouts.
+     *
+     * @param board The current game board
+     * @param random The random number generator to pick with
+     * @return The selected column index, or -1 if every column is full
+     */
+    static int randomColumn(Board board, RandomGenerator random) {
+        // Count the valid columns
+        int validColumns = 0;
         for (int col = 0; col < board.getColumns(); col++) {
-            if (!board.isColumnFull(col)) { // Assuming you have a method to check if the column is full
-                validColumns.add(col);
+            if (!board.isColumnFull(col)) {
+                validColumns++;
             }
         }
 
-        // If there are no valid columns, handle accordingly (e.g., return null or throw an exception)
-        if (validColumns.isEmpty()) {
-            return null;
+        // If there are no valid columns, there is no move to make
+        if (validColumns == 0) {
+            return -1;
         }
 
-        // Select a random valid column
-        int randomIndex = (int) (Math.random() * validColumns.size());
-        int selectedColumn = validColumns.get(randomIndex);
-        
-        return new Move(selectedColumn);
+        // Select a random valid column by walking to it, so no list of columns is needed
+        int randomIndex = random.nextInt(validColumns);
+        for (int col = 0; ; col++) {
+            if (!board.isColumnFull(col) && randomIndex-- == 0) {
+                return col;
+            }
+        }
     }
 
     /**
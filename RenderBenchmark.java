@@ -0,0 +1,153 @@
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+import javax.swing.JPanel;
+
+/**
+ * Measures how long the two ways of drawing a {@link GUIBoard} take to start up and to show a move.
+ *
+ * <p>Run with {@code java RenderBenchmark [moves]}. It runs without a display: the button grid and the canvas
+ * are laid out and painted into an offscreen image the size of the game window. Startup covers creating the
+ * components and painting them once. The frame time of the button grid covers what {@code updateBoard} does
+ * after a move, setting every button and painting the whole grid, while the frame time of the canvas covers
+ * copying the new disc and painting the one cell Swing is asked to repaint.
+ *
+ * @author Caleb Brost
+ * @version 1.0
+ * @since 2025
+ */
+public final class RenderBenchmark {
+    private static final int[][] SIZES = {{6, 7}, {50, 50}, {100, 100}, {200, 200}}; // rows, cols
+    private static final int WIDTH = 600;
+    private static final int HEIGHT = 500;
+
+    private RenderBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark on every board size.
+     *
+     * @param args Optional number of moves to time on each board
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        int moves = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+
+        // Warm up both paths on a small board first
+        buttons(12, 12, moves, image, false);
+        canvas(12, 12, moves, image, false);
+
+        System.out.printf("%-9s %-8s %12s %14s%n", "size", "mode", "startup ms", "frame ms");
+        for (int[] size : SIZES) {
+            buttons(size[0], size[1], moves, image, true);
+            canvas(size[0], size[1], moves, image, true);
+        }
+    }
+
+    /**
+     * Times the button grid on one board size and prints the results.
+     *
+     * @param rows The number of rows on the board
+     * @param cols The number of columns on the board
+     * @param moves The number of moves to time
+     * @param image The image to paint into
+     * @param print Whether to print the results
+     */
+    private static void buttons(int rows, int cols, int moves, BufferedImage image, boolean print) {
+        long start = System.nanoTime();
+        GUIBoard.GameButton[][] buttons = new GUIBoard.GameButton[rows][cols];
+        JPanel panel = GUIBoard.buttonPanel(buttons, col -> { });
+        panel.setSize(WIDTH, HEIGHT);
+        panel.doLayout();
+        paint(panel::paint, image, null);
+        double startup = (System.nanoTime() - start) / 1e6;
+
+        Board board = new Board(rows, cols);
+        Player red = new GUIHumanPlayer();
+        Player yellow = new RandomPlayer();
+        SplittableRandom random = new SplittableRandom(1);
+        long frames = 0;
+        for (int i = 0; i < moves; i++) {
+            board.makeMove(RandomPlayer.randomColumn(board, random), i % 2 == 0 ? red : yellow);
+            long frameStart = System.nanoTime();
+            for (int row = 0; row < rows; row++) {
+                for (int col = 0; col < cols; col++) {
+                    buttons[row][col].setPlayer(board.getPlayerAtLocation(row, col));
+                }
+            }
+            paint(panel::paint, image, null);
+            frames += System.nanoTime() - frameStart;
+        }
+        if (print) {
+            print(rows, cols, "buttons", startup, frames / 1e6 / moves);
+        }
+    }
+
+    /**
+     * Times the canvas on one board size and prints the results.
+     *
+     * @param rows The number of rows on the board
+     * @param cols The number of columns on the board
+     * @param moves The number of moves to time
+     * @param image The image to paint into
+     * @param print Whether to print the results
+     */
+    private static void canvas(int rows, int cols, int moves, BufferedImage image, boolean print) {
+        long start = System.nanoTime();
+        BoardCanvas canvas = new BoardCanvas(rows, cols, col -> { });
+        canvas.setSize(WIDTH, HEIGHT);
+        paint(canvas::paint, image, null);
+        double startup = (System.nanoTime() - start) / 1e6;
+
+        Board board = new Board(rows, cols);
+        Player red = new GUIHumanPlayer();
+        Player yellow = new RandomPlayer();
+        SplittableRandom random = new SplittableRandom(1);
+        long frames = 0;
+        for (int i = 0; i < moves; i++) {
+            board.makeMove(RandomPlayer.randomColumn(board, random), i % 2 == 0 ? red : yellow);
+            long frameStart = System.nanoTime();
+            canvas.update(board);
+            paint(canvas::paint, image, canvas.cellBounds(board.getPlayedRowIndex(), board.getPlayedColIndex()));
+            frames += System.nanoTime() - frameStart;
+        }
+        if (print) {
+            print(rows, cols, "canvas", startup, frames / 1e6 / moves);
+        }
+    }
+
+    /**
+     * Paints a component into an image, like Swing does when it repaints part of a window.
+     *
+     * @param painter Paints the component with a graphics context
+     * @param image The image to paint into
+     * @param clip The area to repaint, or null for the whole image
+     */
+    private static void paint(Consumer<Graphics2D> painter, BufferedImage image, Rectangle clip) {
+        Graphics2D g = image.createGraphics();
+        try {
+            if (clip != null) {
+                g.setClip(clip);
+            }
+            painter.accept(g);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /**
+     * Prints one line of results.
+     *
+     * @param rows The number of rows on the board
+     * @param cols The number of columns on the board
+     * @param mode The name of the drawing mode
+     * @param startup The startup time in milliseconds
+     * @param frame The average frame time in milliseconds
+     */
+    private static void print(int rows, int cols, String mode, double startup, double frame) {
+        System.out.printf("%-9s %-8s %12.1f %14.3f%n", rows + "x" + cols, mode, startup, frame);
+    }
+}
@@ -0,0 +1,87 @@
+import java.util.SplittableRandom;
+
+/**
+ * Represents a random player built for playing millions of games.
+ *
+ * <p>It picks random legal columns like {@link RandomPlayer}, but draws them from its own seedable
+ * {@link SplittableRandom} instead of a shared generator and hands out one cached Move per column, so a move
+ * allocates nothing. Two rollout players with fixed seeds always play the same game. The generator is not
+ * thread-safe, so every thread needs its own player, which {@link #split()} makes.
+ *
+ * @author Caleb Brost
+ * @version 1.0
+ * @since 2025
+ */
+public class RolloutPlayer extends Player {
+    private final SplittableRandom random;
+    private Move[] moves = new Move[0]; // cached move for every column
+
+    /**
+     * Constructor for the RolloutPlayer class.
+     *
+     * @param seed The seed of the random number generator
+     */
+    public RolloutPlayer(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    /**
+     * Constructor for the RolloutPlayer class that uses an existing generator.
+     *
+     * @param random The random number generator, owned by this player from now on
+     */
+    private RolloutPlayer(SplittableRandom random) {
+        super("Yellow");
+        this.random = random;
+    }
+
+    /**
+     * Makes a new player for another thread whose generator is split off this one, so a whole set of
+     * players still follows from one seed.
+     *
+     * @return A player with its own generator
+     */
+    public RolloutPlayer split() {
+        return new RolloutPlayer(this.random.split());
+    }
+
+    /**
+     * Gets the move for the rollout player
+     *
+     * @param board The current game board
+     * @return The cached Move for a random column that is not full, or null if every column is full
+     */
+    @Override
+    public Move getMove(Board board) {
+        int col = RandomPlayer.randomColumn(board, this.random);
+        if (col < 0) {
+            return null;
+        }
+        if (col >= this.moves.length) {
+            this.growMoves(board.getColumns());
+        }
+        return this.moves[col];
+    }
+
+    /**
+     * Fills the move cache up to a number of columns.
+     *
+     * @param cols The number of columns to cache moves for
+     */
+    private void growMoves(int cols) {
+        Move[] grown = new Move[cols];
+        for (int col = 0; col < cols; col++) {
+            grown[col] = col < this.moves.length ? this.moves[col] : new Move(col);
+        }
+        this.moves = grown;
+    }
+
+    /**
+     * Returns the player type.
+     * @return 'Y' for Yellow player.
+     */
+    @Override
+    public char getPlayerType() {
+        return 'Y';
+    }
+}
@@ -0,0 +1,447 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Prints how fast the search players run on the standard board sizes.
+ *
+ * <p>Run with {@code java SearchBenchmark [mode] [options]}, where the mode is one of:
+ * <ul>
+ * <li>{@code negamax [maxDepth]} plays one game between two negamax players on each standard size and prints
+ * the depth reached, the nodes searched and the nodes per second for every move.</li>
+ * <li>{@code mcts [millis]} times Monte Carlo playouts from the empty 7x6 board with 1, 2, 4 and so on up to
+ * the number of cores worker threads and prints the playouts per second of each.</li>
+ * <li>{@code smp [depth]} times how long the lazy SMP negamax search takes to reach a depth from the empty 7x6
+ * board with 1, 2, 4, 8 and 16 threads.</li>
+ * <li>{@code persist [file] [depth]} times the negamax player on a set of 7x6 opening positions twice: cold,
+ * with a new transposition table file, and warm, with a new player that maps the file the first run left
+ * behind.</li>
+ * <li>{@code book [file] [games]} plays book players against rollout players from both sides and prints how
+ * long the book lookups took, next to the time the negamax player needs for the empty board.</li>
+ * <li>{@code solve [positions]} solves fixed sets of random 7x6 end game and middle game positions exactly
+ * and prints the positions per second and nodes searched for each set.</li>
+ * <li>{@code anytime [millis] [games]} plays anytime players with a move time against rollout players on the
+ * 7x6 and 8x7 boards and prints the depth reached and how often and by how much moves ran over time.</li>
+ * <li>{@code ponder [depth] [thinkMillis] [games]} plays a negamax player against a rollout player that takes
+ * a fixed time to think, once without and once with pondering, and prints the negamax player's reply latency.</li>
+ * </ul>
+ *
+ * @author Caleb Brost
+ * @version 1.0
+ * @since 2025
+ */
+public final class SearchBenchmark {
+    private static final int[][] SIZES = {{6, 6}, {6, 7}}; // rows, cols
+    private static final String[] OPENINGS = {"", "44", "43", "45", "4444", "4343", "3454"}; // columns from 1
+    private static final int PERSIST_TABLE_SIZE_BITS = 22;
+    private static final int[][] SOLVE_STAGES = {{28, 35}, {18, 27}}; // fewest and most discs, end game first
+
+    private SearchBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args The benchmark mode followed by its options
+     * @throws IOException If the persist mode can not use its table file
+     * @throws InterruptedException If the main thread is interrupted while a player thinks
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String mode = args.length > 0 ? args[0] : "negamax";
+        switch (mode) {
+            case "negamax":
+                int maxDepth = args.length > 1 ? Integer.parseInt(args[1]) : 12;
+                for (int[] size : SIZES) {
+                    selfPlay(size[0], size[1], maxDepth);
+                }
+                break;
+            case "mcts":
+                mctsScaling(args.length > 1 ? Long.parseLong(args[1]) : 2000);
+                break;
+            case "smp":
+                timeToDepth(args.length > 1 ? Integer.parseInt(args[1]) : 16);
+                break;
+            case "persist":
+                Path file = Paths.get(args.length > 1 ? args[1] : "negamax-7x6.tt");
+                coldAndWarm(file, args.length > 2 ? Integer.parseInt(args[2]) : 16);
+                break;
+            case "book":
+                bookLatency(OpeningBook.open(Paths.get(args.length > 1 ? args[1] : "book-7x6.bin")),
+                    args.length > 2 ? Integer.parseInt(args[2]) : 1000);
+                break;
+            case "solve":
+                int positions = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+                solveSet(SOLVE_STAGES[1][0], SOLVE_STAGES[1][1], 20, false); // warm up
+                for (int[] stage : SOLVE_STAGES) {
+                    solveSet(stage[0], stage[1], positions, true);
+                }
+                break;
+            case "anytime":
+                long budget = args.length > 1 ? Long.parseLong(args[1]) : 100;
+                int games = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+                deadlines(6, 7, budget, games);
+                deadlines(7, 8, budget, games);
+                break;
+            case "ponder":
+                int ponderDepth = args.length > 1 ? Integer.parseInt(args[1]) : 14;
+                long think = args.length > 2 ? Long.parseLong(args[2]) : 2000;
+                int ponderGames = args.length > 3 ? Integer.parseInt(args[3]) : 2;
+                replyLatency(ponderDepth, think, ponderGames, false);
+                replyLatency(ponderDepth, think, ponderGames, true);
+                break;
+            default:
+                System.out.println("Usage: java SearchBenchmark [negamax [maxDepth] | mcts [millis] | smp [depth]"
+                    + " | persist [file] [depth] | book [file] [games]"
+                    + " | solve [positions] | anytime [millis] [games] | ponder [depth] [thinkMillis] [games]]");
+        }
+    }
+
+    /**
+     * Plays 7x6 games between a negamax player and a rollout player standing in for a human, who thinks for a
+     * fixed time before every move, and prints how long the negamax player took to reply.
+     *
+     * @param depth The search depth of the negamax player
+     * @param thinkMillis How long the stand-in human thinks before every move
+     * @param games The number of games to play
+     * @param ponder Whether the negamax player ponders while the stand-in human thinks
+     * @throws InterruptedException If the thread is interrupted while the stand-in human thinks
+     */
+    private static void replyLatency(int depth, long thinkMillis, int games, boolean ponder)
+            throws InterruptedException {
+        NegamaxPlayer player = new NegamaxPlayer(depth);
+        RolloutPlayer human = new RolloutPlayer(1);
+        Board board = new Board(6, 7);
+        List<Long> replies = new ArrayList<>();
+        for (int game = 0; game < games; game++) {
+            board.initialize();
+            while (true) {
+                if (ponder) {
+                    player.ponder(board);
+                }
+                Thread.sleep(thinkMillis);
+                Move move = human.getMove(board);
+                player.stopPondering();
+                if (move == null || !board.makeMove(move.getColumn(), human)
+                        || board.win(move.getColumn(), human) != null || board.tie()) {
+                    break;
+                }
+                Move reply = player.getMove(board);
+                replies.add(player.getLastNanos());
+                board.makeMove(reply.getColumn(), player);
+                if (board.win(reply.getColumn(), player) != null || board.tie()) {
+                    break;
+                }
+            }
+        }
+        player.close();
+        Collections.sort(replies);
+        long total = 0;
+        for (long nanos : replies) {
+            total += nanos;
+        }
+        System.out.printf("depth %d, %d ms to think, %s: %d replies, %.2f ms average, %.2f ms median, %.2f ms max%n",
+            depth, thinkMillis, ponder ? "pondering" : "not pondering", replies.size(), total / 1e6 / replies.size(),
+            replies.get(replies.size() / 2) / 1e6, replies.get(replies.size() - 1) / 1e6);
+    }
+
+    /**
+     * Plays games between an anytime player and a rollout player and prints how well the anytime player kept
+     * to its move time.
+     *
+     * @param rows The number of rows on the board
+     * @param cols The number of columns on the board
+     * @param budgetMillis The move time of the anytime player
+     * @param games The number of games to play
+     */
+    private static void deadlines(int rows, int cols, long budgetMillis, int games) {
+        AnytimePlayer player = new AnytimePlayer(budgetMillis);
+        RolloutPlayer opponent = new RolloutPlayer(1);
+        Board board = new Board(rows, cols);
+        long depths = 0;
+        int wins = 0;
+        for (int game = 0; game < games; game++) {
+            board.initialize();
+            Player mover = game % 2 == 0 ? player : opponent;
+            while (true) {
+                Move move = mover.getMove(board);
+                if (move == null) {
+                    break;
+                }
+                board.makeMove(move.getColumn(), mover);
+                if (mover == player) {
+                    depths += player.getLastDepth();
+                }
+                if (board.win(move.getColumn(), mover) != null) {
+                    wins += mover == player ? 1 : 0;
+                    break;
+                }
+                if (board.tie()) {
+                    break;
+                }
+                mover = mover == player ? opponent : player;
+            }
+        }
+        System.out.printf("%d x %d, %d ms per move: won %d of %d games, %d moves, average depth %.1f%n", cols, rows,
+            budgetMillis, wins, games, player.getMoves(), (double) depths / player.getMoves());
+        System.out.printf("  overran %d times, %.2f ms average overrun, %.2f ms max overrun%n", player.getOverruns(),
+            player.getOverruns() == 0 ? 0.0 : player.getTotalOverrunNanos() / 1e6 / player.getOverruns(),
+            player.getMaxOverrunNanos() / 1e6);
+    }
+
+    /**
+     * Solves a set of random 7x6 positions and prints how fast it went. The positions are made by random play
+     * from a fixed seed, skipping games that end early and positions the player to move wins with the next disc.
+     *
+     * @param minDiscs The fewest discs on the board of a position in the set
+     * @param maxDiscs The most discs on the board of a position in the set
+     * @param count The number of positions in the set
+     * @param print Whether to print the results
+     */
+    private static void solveSet(int minDiscs, int maxDiscs, int count, boolean print) {
+        SplittableRandom random = new SplittableRandom(minDiscs * 1000L + maxDiscs);
+        Player first = new RandomPlayer();
+        Player second = new RandomPlayer();
+        Solver solver = new Solver();
+        int[] wins = new int[3]; // loss, draw, win for the player to move
+        long nanos = 0;
+        int solved = 0;
+        while (solved < count) {
+            Board board = new Board(6, 7);
+            int discs = minDiscs + random.nextInt(maxDiscs - minDiscs + 1);
+            boolean over = false;
+            for (int i = 0; i < discs && !over; i++) {
+                Player mover = i % 2 == 0 ? first : second;
+                int col = RandomPlayer.randomColumn(board, random);
+                board.makeMove(col, mover);
+                over = board.win(col, mover) != null;
+            }
+            if (over || canWinNext(board, discs % 2 == 0 ? first : second)) {
+                continue;
+            }
+            long start = System.nanoTime();
+            int score = solver.solve(board);
+            nanos += System.nanoTime() - start;
+            wins[Integer.signum(score) + 1]++;
+            solved++;
+        }
+        if (!print) {
+            return;
+        }
+        System.out.printf("%d to %d discs: %d positions (%d won, %d drawn, %d lost by the player to move)%n",
+            minDiscs, maxDiscs, count, wins[2], wins[1], wins[0]);
+        System.out.printf("  %.1f ms, %.0f positions/sec, %d nodes, %.0f nodes/sec%n", nanos / 1e6,
+            count / (nanos / 1e9), solver.getNodes(), solver.getNodes() / (nanos / 1e9));
+    }
+
+    /**
+     * Checks whether a player can win with the next disc.
+     *
+     * @param board The current game board
+     * @param mover The player to move
+     * @return Returns true if some column wins right away
+     */
+    private static boolean canWinNext(Board board, Player mover) {
+        for (int col = 0; col < board.getColumns(); col++) {
+            if (board.makeMove(col, mover)) {
+                boolean won = board.win(col, mover) != null;
+                board.undoMove();
+                if (won) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Plays the opening of many games with a book player and prints how long its book lookups took.
+     *
+     * @param book The opening book to play from
+     * @param games The number of games to play
+     */
+    private static void bookLatency(OpeningBook book, int games) {
+        BookPlayer player = new BookPlayer(book);
+        RolloutPlayer opponent = new RolloutPlayer(1);
+        Board board = new Board(book.getRows(), book.getColumns());
+        long hits = 0;
+        long misses = 0;
+        long totalNanos = 0;
+        long maxNanos = 0;
+        for (int game = 0; game < games; game++) {
+            board.initialize();
+            Player mover = game % 2 == 0 ? player : opponent;
+            // Stop at the first position the book does not know, where the player would start searching
+            while (board.getMoveCount() <= book.getMaxPlies()) {
+                if (mover == player) {
+                    Move move = player.getMove(board);
+                    if (!player.wasLastFromBook()) {
+                        misses++;
+                        break;
+                    }
+                    hits++;
+                    totalNanos += player.getLastLookupNanos();
+                    maxNanos = Math.max(maxNanos, player.getLastLookupNanos());
+                    board.makeMove(move.getColumn(), player);
+                } else {
+                    board.makeMove(opponent.getMove(board).getColumn(), opponent);
+                }
+                mover = mover == player ? opponent : player;
+            }
+        }
+
+        NegamaxPlayer search = new NegamaxPlayer();
+        search.getMove(new Board(book.getRows(), book.getColumns()));
+        System.out.printf("%d positions up to ply %d on %d x %d%n", book.size(), book.getMaxPlies(),
+            book.getRows(), book.getColumns());
+        System.out.printf("book moves: %d, left the book: %d%n", hits, misses);
+        System.out.printf("lookup: %.2f us average, %.2f us max%n", totalNanos / 1e3 / hits, maxNanos / 1e3);
+        System.out.printf("negamax search of the empty board: %.1f ms%n", search.getLastNanos() / 1e6);
+    }
+
+    /**
+     * Prints how long the negamax player takes on the opening positions with a new table file and again after
+     * reopening the same file. An existing file is deleted first so the cold run really starts empty.
+     *
+     * @param file The file to keep the table in
+     * @param depth The depth to search to
+     * @throws IOException If the table file can not be created or mapped
+     */
+    private static void coldAndWarm(Path file, int depth) throws IOException {
+        Files.deleteIfExists(file);
+        System.out.printf("7x6 opening positions, depth %d, table in %s%n", depth, file);
+        System.out.println("opening        cold ms     warm ms  speedup");
+        double[] cold = timeOpenings(file, depth);
+        double[] warm = timeOpenings(file, depth);
+        double coldTotal = 0;
+        double warmTotal = 0;
+        for (int i = 0; i < OPENINGS.length; i++) {
+            System.out.printf("%-10s  %10.1f  %10.1f  %7.2f%n", OPENINGS[i].isEmpty() ? "(empty)" : OPENINGS[i],
+                cold[i], warm[i], cold[i] / warm[i]);
+            coldTotal += cold[i];
+            warmTotal += warm[i];
+        }
+        System.out.printf("total       %10.1f  %10.1f  %7.2f%n", coldTotal, warmTotal, coldTotal / warmTotal);
+    }
+
+    /**
+     * Times a new negamax player backed by a table file on every opening position, then writes the table out.
+     *
+     * @param file The file to keep the table in
+     * @param depth The depth to search to
+     * @return The time taken on each opening in milliseconds
+     * @throws IOException If the table file can not be created or mapped
+     */
+    private static double[] timeOpenings(Path file, int depth) throws IOException {
+        TranspositionTable table = TranspositionTable.mapped(file, 6, 7, PERSIST_TABLE_SIZE_BITS, false);
+        NegamaxPlayer player = new NegamaxPlayer(depth, 1, table);
+        Player opponent = new RandomPlayer();
+        double[] millis = new double[OPENINGS.length];
+        for (int i = 0; i < OPENINGS.length; i++) {
+            // Replay the opening so that it is the player's turn again
+            Board board = new Board(6, 7);
+            for (int j = 0; j < OPENINGS[i].length(); j++) {
+                board.makeMove(OPENINGS[i].charAt(j) - '1', j % 2 == 0 ? player : opponent);
+            }
+            player.getMove(board);
+            millis[i] = player.getLastNanos() / 1e6;
+        }
+        table.flush();
+        return millis;
+    }
+
+    /**
+     * Prints how long the lazy SMP search takes to reach a depth for a growing number of threads.
+     *
+     * @param depth The depth to search to
+     */
+    private static void timeToDepth(int depth) {
+        System.out.printf("7x6 empty board, depth %d, %d cores%n", depth, Runtime.getRuntime().availableProcessors());
+        System.out.println("threads        ms        nodes  speedup  column");
+        try (NegamaxPlayer warmUp = new NegamaxPlayer(depth - 2, 2)) {
+            warmUp.getMove(new Board(6, 7));
+        }
+        double single = 0;
+        for (int threads = 1; threads <= 16; threads *= 2) {
+            try (NegamaxPlayer player = new NegamaxPlayer(depth, threads)) {
+                Move move = player.getMove(new Board(6, 7));
+                double millis = player.getLastNanos() / 1e6;
+                if (threads == 1) {
+                    single = millis;
+                }
+                System.out.printf("%7d  %8.1f  %11d  %7.2f  %6d%n", threads, millis, player.getLastNodes(),
+                    single / millis, move.getColumn() + 1);
+            }
+        }
+    }
+
+    /**
+     * Prints the playouts per second of the Monte Carlo player for a growing number of worker threads.
+     *
+     * @param millis The time to search for with each thread count
+     */
+    private static void mctsScaling(long millis) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        double single = 0;
+        System.out.printf("7x6 empty board, %d ms per run, %d cores%n", millis, cores);
+        System.out.println("threads     playouts  playouts/sec  speedup  confidence");
+        for (int threads = 1; threads <= cores; threads = threads * 2 > cores && threads < cores ? cores : threads * 2) {
+            try (MctsPlayer player = new MctsPlayer(millis, Long.MAX_VALUE, threads, 1)) {
+                player.getMove(new Board(6, 7)); // warm up
+                Move move = player.getMove(new Board(6, 7));
+                double rate = player.getLastPlayouts() / (player.getLastNanos() / 1e9);
+                if (threads == 1) {
+                    single = rate;
+                }
+                System.out.printf("%7d  %11d  %12.0f  %7.2f  %10.3f  (column %d)%n", threads,
+                    player.getLastPlayouts(), rate, rate / single, player.getLastConfidence(), move.getColumn() + 1);
+            }
+        }
+    }
+
+    /**
+     * Plays one game between two negamax players and prints the search statistics of every move.
+     *
+     * @param rows The number of rows on the board
+     * @param cols The number of columns on the board
+     * @param maxDepth The maximum search depth of both players
+     */
+    private static void selfPlay(int rows, int cols, int maxDepth) {
+        Board board = new Board(rows, cols);
+        NegamaxPlayer first = new NegamaxPlayer(maxDepth);
+        NegamaxPlayer second = new NegamaxPlayer(maxDepth);
+        NegamaxPlayer current = first;
+        long totalNodes = 0;
+        long totalNanos = 0;
+
+        System.out.printf("%d rows x %d cols, max depth %d%n", rows, cols, maxDepth);
+        System.out.println("move  col  depth        nodes       ms    nodes/sec");
+        for (int moveNumber = 1; ; moveNumber++) {
+            Move move = current.getMove(board);
+            if (move == null) {
+                break;
+            }
+            board.makeMove(move.getColumn(), current);
+            totalNodes += current.getLastNodes();
+            totalNanos += current.getLastNanos();
+            System.out.printf("%4d  %3d  %5d  %11d  %7.1f  %11.0f%n", moveNumber, move.getColumn() + 1,
+                current.getLastDepth(), current.getLastNodes(), current.getLastNanos() / 1e6,
+                current.getLastNodes() / (current.getLastNanos() / 1e9));
+            if (board.win(move.getColumn(), current) != null) {
+                System.out.println("winner: " + (current == first ? "first" : "second"));
+                break;
+            }
+            if (board.tie()) {
+                System.out.println("tie");
+                break;
+            }
+            current = current == first ? second : first;
+        }
+        System.out.printf("total: %d nodes in %.1f ms (%.0f nodes/sec)%n%n",
+            totalNodes, totalNanos / 1e6, totalNodes / (totalNanos / 1e9));
+    }
+}
@@ -0,0 +1,338 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Plays headless games between two kinds of player and streams every position of every game to sharded files,
+ * to train position evaluators on.
+ *
+ * <p>A sample is 9 bytes: the {@link BitBoard#key} of the position for the player to move, then one byte holding
+ * the player to move in bit 2 (0 for the player who moved first) and the final result for that player in bits 0
+ * and 1 (0 loss, 1 draw, 2 win). Every position before each move of a game is a sample. Each shard file starts
+ * with an 8-byte header holding a magic number, the version and the board size.
+ *
+ * <p>Game workers fill fixed batches of samples and hand them to writer threads through a bounded queue. The
+ * batches come from a fixed pool and go back to it once written, so a worker that gets ahead of the disks
+ * waits for a free batch instead of buffering more, and memory use stays the same however long the run is.
+ * Workers split the games like {@link Tournament} does, each with its own board and players. Every writer
+ * owns its own series of shards and starts a new file when the current one reaches the shard size.
+ *
+ * <p>Run with {@code java SelfPlay [games] [threads] [rows cols] [playerA] [playerB] [dir] [writers]}.
+ * Players are described as for {@link Tournament#players}.
+ *
+ * @author Caleb Brost
+ * @version 1.0
+ * @since 2025
+ */
+public final class SelfPlay {
+    /** Bytes in one sample. */
+    public static final int SAMPLE_BYTES = 9;
+
+    private static final int MAGIC = 0x43345350; // "C4SP"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 8;
+    private static final int BATCH_SAMPLES = 7000;
+    private static final int BATCHES_PER_THREAD = 4;
+    private static final ByteBuffer END = ByteBuffer.allocate(0); // tells a writer there are no more batches
+
+    private final int rows;
+    private final int cols;
+    private final Supplier<Player> playerA;
+    private final Supplier<Player> playerB;
+    private final Path dir;
+    private final int writers;
+    private final long shardBytes;
+    private final LongAdder games = new LongAdder();
+    private final LongAdder samples = new LongAdder();
+    private final AtomicInteger shards = new AtomicInteger();
+    private BlockingQueue<ByteBuffer> free; // empty batches
+    private BlockingQueue<ByteBuffer> full; // batches waiting to be written
+    private volatile IOException failure; // first write error, after which batches are dropped
+
+    /**
+     * Constructor for the SelfPlay class.
+     *
+     * @param rows The number of rows on every board, which must fit a bitboard
+     * @param cols The number of columns on every board, which must fit a bitboard
+     * @param playerA Makes a new player A for each worker
+     * @param playerB Makes a new player B for each worker
+     * @param dir The directory to write the shards to
+     * @param writers The number of writer threads, each writing its own shards
+     * @param shardBytes The size at which a writer starts a new shard
+     */
+    public SelfPlay(int rows, int cols, Supplier<Player> playerA, Supplier<Player> playerB, Path dir, int writers,
+            long shardBytes) {
+        if (!BitBoard.fits(rows, cols)) {
+            throw new IllegalArgumentException("Samples are bitboard keys, and a " + rows + " x " + cols
+                + " board does not fit in 64 bits");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.playerA = playerA;
+        this.playerB = playerB;
+        this.dir = dir;
+        this.writers = writers;
+        this.shardBytes = shardBytes;
+    }
+
+    /**
+     * Plays a number of games and writes their samples, waiting until every sample is on disk.
+     *
+     * @param games The number of games to play
+     * @param threads The number of game workers
+     * @throws InterruptedException If the calling thread is interrupted while waiting for the workers
+     * @throws IOException If a shard can not be written
+     */
+    public void run(long games, int threads) throws InterruptedException, IOException {
+        Files.createDirectories(this.dir);
+        int batches = BATCHES_PER_THREAD * (threads + this.writers);
+        this.free = new ArrayBlockingQueue<>(batches);
+        this.full = new ArrayBlockingQueue<>(batches + this.writers);
+        for (int i = 0; i < batches; i++) {
+            this.free.add(ByteBuffer.allocateDirect(BATCH_SAMPLES * SAMPLE_BYTES));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads + this.writers);
+        try {
+            List<Future<Void>> writing = new ArrayList<>();
+            for (int i = 0; i < this.writers; i++) {
+                final int writer = i;
+                writing.add(pool.submit(() -> {
+                    this.write(writer);
+                    return null;
+                }));
+            }
+            List<Callable<Void>> workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                final int first = i;
+                workers.add(() -> {
+                    this.playShare(first, threads, games);
+                    return null;
+                });
+            }
+            try {
+                for (Future<Void> result : pool.invokeAll(workers)) {
+                    result.get();
+                }
+            } finally {
+                for (int i = 0; i < this.writers; i++) {
+                    this.full.put(END);
+                }
+            }
+            for (Future<Void> result : writing) {
+                result.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A self-play worker failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        if (this.failure != null) {
+            throw this.failure;
+        }
+    }
+
+    /**
+     * Plays every game of one worker and queues the samples of each finished game. The worker's players are
+     * closed at the end.
+     *
+     * @param first The number of the first game to play
+     * @param step The distance between two games of this worker
+     * @param games The total number of games
+     * @throws InterruptedException If the worker is interrupted while waiting for a free batch
+     */
+    private void playShare(long first, int step, long games) throws InterruptedException {
+        Board board = new Board(this.rows, this.cols);
+        BitBoard bits = new BitBoard(this.rows, this.cols);
+        try (Player a = this.playerA.get(); Player b = this.playerB.get()) {
+            ByteBuffer batch = this.free.take();
+            for (long game = first; game < games; game += step) {
+                board.initialize();
+                boolean aFirst = game % 2 == 0;
+                Player winner = aFirst ? HeadlessGame.play(board, a, b) : HeadlessGame.play(board, b, a);
+                if (winner == null && !board.tie()) {
+                    continue; // a player quit, so the game has no result to learn from
+                }
+                int winnerSide = winner == null ? -1 : (winner == a) == aFirst ? 0 : 1;
+
+                bits.clear();
+                int moves = board.getMoveCount();
+                for (int i = 0; i < moves; i++) {
+                    if (batch.remaining() < SAMPLE_BYTES) {
+                        this.full.put(batch);
+                        batch = this.free.take(); // waits here when the writers fall behind
+                    }
+                    int side = i % 2;
+                    int result = winnerSide < 0 ? 1 : winnerSide == side ? 2 : 0;
+                    batch.putLong(bits.key(side));
+                    batch.put((byte) (side << 2 | result));
+                    bits.play(board.getMoveColumn(i), side);
+                }
+                this.games.increment();
+                this.samples.add(moves);
+            }
+            if (batch.position() > 0) {
+                this.full.put(batch);
+            } else {
+                this.free.put(batch);
+            }
+        }
+    }
+
+    /**
+     * Writes batches to the shards of one writer until told there are no more.
+     *
+     * @param writer The number of the writer, used in its shard names
+     * @throws InterruptedException If the writer is interrupted while waiting for a batch
+     */
+    private void write(int writer) throws InterruptedException {
+        FileChannel channel = null;
+        long written = 0;
+        int sequence = 0;
+        try {
+            while (true) {
+                ByteBuffer batch = this.full.take();
+                if (batch == END) {
+                    break;
+                }
+                try {
+                    if (this.failure == null) {
+                        if (channel == null || written + batch.position() > this.shardBytes) {
+                            if (channel != null) {
+                                channel.close();
+                            }
+                            channel = this.openShard(writer, sequence++);
+                            written = HEADER_BYTES;
+                        }
+                        written += batch.position();
+                        batch.flip();
+                        while (batch.hasRemaining()) {
+                            channel.write(batch);
+                        }
+                    }
+                } catch (IOException e) {
+                    this.failure = e; // keep returning batches so the workers do not wait forever
+                }
+                batch.clear();
+                this.free.put(batch);
+            }
+        } finally {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    if (this.failure == null) {
+                        this.failure = e;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates the next shard of a writer and writes its header.
+     *
+     * @param writer The number of the writer
+     * @param sequence The number of the shard among the writer's shards
+     * @return The open shard
+     * @throws IOException If the shard can not be created
+     */
+    private FileChannel openShard(int writer, int sequence) throws IOException {
+        Path file = this.dir.resolve(String.format("samples-%02d-%05d.bin", writer, sequence));
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).put((byte) VERSION).put((byte) this.rows).put((byte) this.cols).put((byte) 0).flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        this.shards.incrementAndGet();
+        return channel;
+    }
+
+    /**
+     * Gets the number of games played so far.
+     *
+     * @return The game count
+     */
+    public long getGames() {
+        return this.games.sum();
+    }
+
+    /**
+     * Gets the number of samples queued so far.
+     *
+     * @return The sample count
+     */
+    public long getSamples() {
+        return this.samples.sum();
+    }
+
+    /**
+     * Gets the number of shard files started so far.
+     *
+     * @return The shard count
+     */
+    public int getShards() {
+        return this.shards.get();
+    }
+
+    /**
+     * Generates samples from the command line, printing the rate and heap use every five seconds.
+     *
+     * @param args Optional games, threads, rows, cols, player A, player B, output directory and writers
+     * @throws InterruptedException If the main thread is interrupted
+     * @throws IOException If a shard can not be written
+     */
+    public static void main(String[] args) throws InterruptedException, IOException {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 100000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int rows = args.length > 2 ? Integer.parseInt(args[2]) : 6;
+        int cols = args.length > 3 ? Integer.parseInt(args[3]) : 7;
+        String specA = args.length > 4 ? args[4] : "random";
+        String specB = args.length > 5 ? args[5] : "negamax:4";
+        Path dir = Paths.get(args.length > 6 ? args[6] : "selfplay");
+        int writers = args.length > 7 ? Integer.parseInt(args[7]) : 2;
+
+        SelfPlay selfPlay = new SelfPlay(rows, cols, Tournament.players(specA, 1), Tournament.players(specB, 1000001),
+            dir, writers, 256L << 20);
+        long start = System.nanoTime();
+        Thread report = new Thread(() -> {
+            Runtime runtime = Runtime.getRuntime();
+            try {
+                while (true) {
+                    Thread.sleep(5000);
+                    double minutes = (System.nanoTime() - start) / 6e10;
+                    System.out.printf("%d games, %d samples, %.0f samples/min, heap %d MB%n", selfPlay.getGames(),
+                        selfPlay.getSamples(), selfPlay.getSamples() / minutes,
+                        (runtime.totalMemory() - runtime.freeMemory()) >> 20);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "self-play-report");
+        report.setDaemon(true);
+        report.start();
+
+        selfPlay.run(games, threads);
+        double minutes = (System.nanoTime() - start) / 6e10;
+        System.out.printf("%d games, %d samples in %d shards in %.2f s: %.0f samples/min%n", selfPlay.getGames(),
+            selfPlay.getSamples(), selfPlay.getShards(), minutes * 60, selfPlay.getSamples() / minutes);
+    }
+}
@@ -0,0 +1,72 @@
+import java.awt.Window;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.swing.SwingUtilities;
+
+/**
+ * Plays many games in one window the way a long session of {@link ConnectFour} does, to show that a session does
+ * not grow as it goes on.
+ *
+ * <p>Two computer players play every game through {@link ConnectFour#runGame} on one board, one window and one
+ * engine thread, with no dialogs in between. After every report interval the harness collects the garbage and
+ * prints the heap in use, the number of live threads and the number of open windows, which should all stay flat
+ * from the first report to the last. It needs a display, like the game itself.
+ *
+ * <p>Run with {@code java SessionSoak [games] [interval] [playerA] [playerB]}. Players are described as for
+ * {@link Tournament#players}.
+ *
+ * @author Caleb Brost
+ * @version 1.0
+ * @since 2025
+ */
+public final class SessionSoak {
+    private SessionSoak() {
+    }
+
+    /**
+     * Runs the soak from the command line.
+     *
+     * @param args Optional number of games, report interval, player A and player B
+     * @throws InterruptedException If the main thread is interrupted while creating the window
+     * @throws InvocationTargetException If the window can not be created
+     */
+    public static void main(String[] args) throws InterruptedException, InvocationTargetException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        int interval = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        Player first = Tournament.players(args.length > 2 ? args[2] : "random", 1).get();
+        Player second = Tournament.players(args.length > 3 ? args[3] : "rollout", 2).get();
+
+        Board board = new Board();
+        board.initialize();
+        AtomicReference<GUIBoard> window = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> window.set(new GUIBoard(board, "Connect Four Soak", first, second)));
+        GUIBoard guiBoard = window.get();
+        ExecutorService engine = ConnectFour.newEngine();
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long start = System.nanoTime();
+        try {
+            for (int game = 1; game <= games; game++) {
+                ConnectFour.runGame(first, second, guiBoard, board, engine);
+                if (game % interval == 0) {
+                    System.gc();
+                    SwingUtilities.invokeAndWait(() -> { }); // let the window catch up before counting
+                    System.out.printf("%d games, %.0f games/s, heap %d KB, %d threads, %d windows%n", game,
+                        game / ((System.nanoTime() - start) / 1e9), memory.getHeapMemoryUsage().getUsed() >> 10,
+                        threads.getThreadCount(), Window.getWindows().length);
+                }
+            }
+        } finally {
+            engine.shutdownNow();
+            first.close();
+            second.close();
+            SwingUtilities.invokeLater(guiBoard::dispose);
+        }
+        System.exit(0);
+    }
+}
@@ -0,0 +1,283 @@
+/**
+ * Finds the game-theoretic value of a position, assuming both players play perfectly from there on.
+ *
+ * <p>A score of 0 means the game ends in a draw. A positive score means the player to move wins, and the sooner
+ * the win the higher the score: a win with the winner's last disc scores 1, a win one of the winner's discs
+ * earlier scores 2 and so on. A negative score is the same for a loss. {@link #pliesToEnd} turns a score into
+ * the number of discs left to play.
+ *
+ * <p>The score is found with a series of null-window searches that each only answer whether the score is
+ * above a guess, narrowing the range of possible scores like a binary search. Searches with a window this
+ * narrow cut off far more of the tree than one wide search. Moves that hand the opponent a win on the next
+ * disc are never tried, a threat of the opponent is blocked right away, and the columns are tried in order of
+ * how many winning cells they leave the player with, center columns first among equals.
+ *
+ * @author Caleb Brost
+ * @version 1.0
+ * @since 2025
+ */
+public final class Solver {
+    private static final int TABLE_SIZE_BITS = 21;
+
+    private final TranspositionTable table = new TranspositionTable(TABLE_SIZE_BITS);
+    private BitBoard bits;
+    private int cells;
+    private int[] order; // center-first column order
+    private long[] columnMasks; // every cell of each column
+    private int[][] moves; // columns of each ply in the order they are tried
+    private int[][] moveScores; // ordering score of each of those columns
+    private long nodes;
+
+    /**
+     * Finds the score of a board for the player to move.
+     *
+     * @param board The board to solve, which must fit in a bitboard and must not be won yet
+     * @return The score for the player to move
+     */
+    public int solve(Board board) {
+        return this.solve(this.bitsOf(board), board.getMoveCount() % 2);
+    }
+
+    /**
+     * Finds the column with the best score for the player to move.
+     *
+     * @param board The board to solve, which must fit in a bitboard and must not be won yet
+     * @return The column index, or -1 if the board is full
+     */
+    public int bestColumn(Board board) {
+        BitBoard position = this.bitsOf(board);
+        int side = board.getMoveCount() % 2;
+        int best = -1;
+        int bestScore = Integer.MIN_VALUE;
+        for (int col : Negamax.centerFirst(position.getColumns())) {
+            if (position.isColumnFull(col)) {
+                continue;
+            }
+            position.play(col, side);
+            int score = position.connected(side)
+                ? (this.cells + 2 - position.getMoves()) / 2
+                : -this.solve(position, 1 - side);
+            position.undo(col);
+            if (score > bestScore) {
+                bestScore = score;
+                best = col;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Gets the number of positions searched since the solver was created.
+     *
+     * @return The node count
+     */
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    /**
+     * Gets how many discs are left to play before the game ends, if both players play perfectly.
+     *
+     * @param score The score of the position for the player to move
+     * @param moves The number of discs on the board
+     * @param cells The number of cells on the board
+     * @return The number of discs still to be played, counting the winning disc
+     */
+    public static int pliesToEnd(int score, int moves, int cells) {
+        if (score == 0) {
+            return cells - moves;
+        }
+        // discs on the board before the winning disc, which the winner plays
+        int before = cells + 1 - 2 * Math.abs(score);
+        int winnerParity = score > 0 ? moves % 2 : (moves + 1) % 2;
+        if (before % 2 != winnerParity) {
+            before--;
+        }
+        return before - moves + 1;
+    }
+
+    /**
+     * Copies a board into a bitboard and gets the solver ready for its size.
+     *
+     * @param board The board to copy
+     * @return A bitboard holding the same discs
+     */
+    private BitBoard bitsOf(Board board) {
+        BitBoard position = board.copyBits();
+        if (position == null) {
+            throw new IllegalArgumentException("Only connect four on a board that fits a bitboard can be solved: "
+                + board.getRows() + " x " + board.getColumns() + ", connect " + board.getConnect());
+        }
+        int rows = board.getRows();
+        int cols = board.getColumns();
+        if (this.cells != rows * cols || this.order == null || this.order.length != cols) {
+            this.table.clear(); // keys of one board size mean nothing on another
+            this.cells = rows * cols;
+            this.order = Negamax.centerFirst(cols);
+            this.columnMasks = new long[cols];
+            for (int col = 0; col < cols; col++) {
+                this.columnMasks[col] = position.cell(col, 0) * ((1L << rows) - 1);
+            }
+            this.moves = new int[this.cells + 1][cols];
+            this.moveScores = new int[this.cells + 1][cols];
+        }
+        return position;
+    }
+
+    /**
+     * Finds the score of a position by narrowing the range of possible scores with null-window searches.
+     *
+     * @param position The position to solve, changed during the search and restored afterwards
+     * @param side The player index to move
+     * @return The score for the player to move
+     */
+    private int solve(BitBoard position, int side) {
+        this.bits = position;
+        if ((position.winningCells(side) & position.playable()) != 0) {
+            return (this.cells + 1 - position.getMoves()) / 2;
+        }
+        int min = -(this.cells - position.getMoves()) / 2;
+        int max = (this.cells + 1 - position.getMoves()) / 2;
+        while (min < max) {
+            // Guess close to 0 first, where most positions end up
+            int guess = min + (max - min) / 2;
+            if (guess <= 0 && min / 2 < guess) {
+                guess = min / 2;
+            } else if (guess >= 0 && max / 2 > guess) {
+                guess = max / 2;
+            }
+            int score = this.search(guess, guess + 1, side);
+            if (score <= guess) {
+                max = score;
+            } else {
+                min = score;
+            }
+        }
+        return min;
+    }
+
+    /**
+     * Scores a position where the player to move can not win with the next disc.
+     *
+     * @param alpha The score the player to move is already sure of
+     * @param beta The score the opponent is already sure of
+     * @param side The player index to move
+     * @return The score for the player to move, exact when it lies between alpha and beta
+     */
+    private int search(int alpha, int beta, int side) {
+        this.nodes++;
+        BitBoard position = this.bits;
+        int discs = position.getMoves();
+        long next = this.nonLosingMoves(side);
+        if (next == 0) {
+            return -(this.cells - discs) / 2; // the opponent wins with the next disc
+        }
+        if (discs >= this.cells - 2) {
+            return 0; // neither player can win with the last two discs
+        }
+
+        // Narrow the window to the scores still possible
+        int min = -(this.cells - 2 - discs) / 2;
+        if (alpha < min) {
+            alpha = min;
+            if (alpha >= beta) {
+                return alpha;
+            }
+        }
+        int max = (this.cells - 1 - discs) / 2;
+        if (beta > max) {
+            beta = max;
+            if (alpha >= beta) {
+                return beta;
+            }
+        }
+
+        long key = position.key(side);
+        long entry = this.table.probe(key);
+        if (entry != 0) {
+            int score = TranspositionTable.score(entry);
+            if (TranspositionTable.flag(entry) == TranspositionTable.LOWER) {
+                if (alpha < score) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        return alpha;
+                    }
+                }
+            } else if (beta > score) {
+                beta = score;
+                if (alpha >= beta) {
+                    return beta;
+                }
+            }
+        }
+
+        int count = this.orderMoves(next, side);
+        int[] cols = this.moves[discs];
+        for (int i = 0; i < count; i++) {
+            position.play(cols[i], side);
+            int score = -this.search(-beta, -alpha, 1 - side);
+            position.undo(cols[i]);
+            if (score >= beta) {
+                this.table.store(key, score, this.cells - discs, TranspositionTable.LOWER, cols[i]);
+                return score;
+            }
+            if (score > alpha) {
+                alpha = score;
+            }
+        }
+        this.table.store(key, alpha, this.cells - discs, TranspositionTable.UPPER, -1);
+        return alpha;
+    }
+
+    /**
+     * Gets the playable cells that do not let the opponent win with the next disc.
+     *
+     * @param side The player index to move
+     * @return A mask of the cells, empty if every move loses
+     */
+    private long nonLosingMoves(int side) {
+        long playable = this.bits.playable();
+        long threats = this.bits.winningCells(1 - side);
+        long forced = playable & threats;
+        if (forced != 0) {
+            if ((forced & (forced - 1)) != 0) {
+                return 0; // two threats can not both be blocked
+            }
+            playable = forced;
+        }
+        return playable & ~(threats >>> 1); // never play right below a winning cell of the opponent
+    }
+
+    /**
+     * Sorts the columns of a set of moves by how many winning cells they leave the player with.
+     *
+     * @param next A mask of the moves to sort
+     * @param side The player index to move
+     * @return The number of columns written to the move list of the current ply
+     */
+    private int orderMoves(long next, int side) {
+        BitBoard position = this.bits;
+        int[] cols = this.moves[position.getMoves()];
+        int[] scores = this.moveScores[position.getMoves()];
+        int count = 0;
+        for (int col : this.order) {
+            if ((next & this.columnMasks[col]) == 0) {
+                continue;
+            }
+            position.play(col, side);
+            int score = Long.bitCount(position.winningCells(side));
+            position.undo(col);
+
+            // Insert after every column with a score at least as high, keeping center columns ahead of ties
+            int i = count++;
+            while (i > 0 && scores[i - 1] < score) {
+                cols[i] = cols[i - 1];
+                scores[i] = scores[i - 1];
+                i--;
+            }
+            cols[i] = col;
+            scores[i] = score;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,262 @@
+import java.util.Arrays;
+
+/**
+ * Represents a board too large to store cell by cell, keeping only the discs that have been played.
+ *
+ * <p>Each column has a height counter, and each disc is an entry in an open-addressing hash table from the
+ * cell index (column * rows + height) to the player index, with the keys and values in primitive arrays. The
+ * table doubles when it is half full and starts small again when the board is cleared, so memory grows with
+ * the discs played and the number of columns rather than with the area of the board. Dropping a disc, taking
+ * it back and looking up a cell take constant time, and a win is found by walking at most N - 1 cells each way
+ * from the last disc.
+ *
+ * @author Caleb Brost
+ * @version 1.0
+ * @since 2025
+ */
+final class SparseBoard implements DiscStore {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final long EMPTY = -1L; // key of a free slot
+
+    private final int rows;
+    private final int cols;
+    private final int connect; // discs in a row needed to win
+    private final int[] heights; // number of discs in each column
+    private long[] keys; // cell index of each slot, EMPTY if free
+    private byte[] sides; // player index of the disc in each slot
+    private int size; // discs on the board
+
+    /**
+     * Creates an empty board.
+     *
+     * @param rows The number of rows on the board
+     * @param cols The number of columns on the board
+     * @param connect The number of discs in a row needed to win
+     */
+    SparseBoard(int rows, int cols, int connect) {
+        this.rows = rows;
+        this.cols = cols;
+        this.connect = connect;
+        this.heights = new int[cols];
+        this.keys = new long[INITIAL_CAPACITY];
+        this.sides = new byte[INITIAL_CAPACITY];
+        Arrays.fill(this.keys, EMPTY);
+    }
+
+    /**
+     * Gets the number of discs in a column.
+     *
+     * @param col The column index
+     * @return The number of discs played in the column
+     */
+    @Override
+    public int height(int col) {
+        return this.heights[col];
+    }
+
+    /**
+     * Checks whether a column is full.
+     *
+     * @param col The column index
+     * @return Returns true if no more discs fit into the column
+     */
+    @Override
+    public boolean isColumnFull(int col) {
+        return this.heights[col] == this.rows;
+    }
+
+    /**
+     * Checks whether every cell on the board holds a disc.
+     *
+     * @return Returns true if the board is full
+     */
+    @Override
+    public boolean isFull() {
+        return this.size == (long) this.rows * this.cols;
+    }
+
+    /**
+     * Drops a disc for a player on top of a column, doubling the table first if it would be more than half full.
+     * The column must not be full.
+     *
+     * @param col The column index
+     * @param side The player index, 0 or 1
+     */
+    @Override
+    public void play(int col, int side) {
+        if (2 * (this.size + 1) > this.keys.length) {
+            this.resize(this.keys.length * 2);
+        }
+        this.insert((long) col * this.rows + this.heights[col], side);
+        this.heights[col]++;
+        this.size++;
+    }
+
+    /**
+     * Takes the top disc back out of a column. The column must not be empty.
+     *
+     * @param col The column index
+     */
+    @Override
+    public void undo(int col) {
+        this.heights[col]--;
+        this.size--;
+        this.remove((long) col * this.rows + this.heights[col]);
+    }
+
+    /**
+     * Gets the player index of the disc at a location, looking in the table only if the cell is below the top of
+     * its column.
+     *
+     * @param row The row index, where row 0 is the top of the board
+     * @param col The column index
+     * @return The player index 0 or 1, or -1 if the cell is empty
+     */
+    @Override
+    public int get(int row, int col) {
+        int height = this.rows - 1 - row;
+        if (height >= this.heights[col]) {
+            return -1; // above the top disc of the column, so no need to look
+        }
+        return this.sides[this.find((long) col * this.rows + height)];
+    }
+
+    /**
+     * Checks whether a player has a line of N discs through a cell, which after a move tells whether the disc
+     * just played won the game.
+     *
+     * @param row The row index of the cell, where row 0 is the top of the board
+     * @param col The column index of the cell
+     * @param side The player index, 0 or 1
+     * @return Returns true if the player has N in a row through the cell
+     */
+    @Override
+    public boolean connected(int row, int col, int side) {
+        return this.countInLine(row, col, 0, 1, side) >= this.connect // row
+            || this.countInLine(row, col, 1, 0, side) >= this.connect // column
+            || this.countInLine(row, col, 1, 1, side) >= this.connect // left diagonal
+            || this.countInLine(row, col, 1, -1, side) >= this.connect; // right diagonal
+    }
+
+    /**
+     * Removes every disc from the board and shrinks the table back to its initial size.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(this.heights, 0);
+        if (this.keys.length > INITIAL_CAPACITY) {
+            this.keys = new long[INITIAL_CAPACITY];
+            this.sides = new byte[INITIAL_CAPACITY];
+        }
+        Arrays.fill(this.keys, EMPTY);
+        this.size = 0;
+    }
+
+    /**
+     * Counts a player's discs in an unbroken line through a cell, stopping once the line is long enough.
+     *
+     * @param row The row index of the cell
+     * @param col The column index of the cell
+     * @param rowStep The row direction to walk in, -1, 0 or 1
+     * @param colStep The column direction to walk in, -1, 0 or 1
+     * @param side The player index
+     * @return The length of the line including the cell, at most N
+     */
+    private int countInLine(int row, int col, int rowStep, int colStep, int side) {
+        int count = 1;
+        for (int direction = 1; direction >= -1; direction -= 2) {
+            int r = row + direction * rowStep;
+            int c = col + direction * colStep;
+            while (count < this.connect && r >= 0 && r < this.rows && c >= 0 && c < this.cols
+                    && this.get(r, c) == side) {
+                count++;
+                r += direction * rowStep;
+                c += direction * colStep;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Adds a disc to the table. The cell must not be in it yet.
+     *
+     * @param key The cell index
+     * @param side The player index
+     */
+    private void insert(long key, int side) {
+        int mask = this.keys.length - 1;
+        int slot = slot(key, mask);
+        while (this.keys[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        this.keys[slot] = key;
+        this.sides[slot] = (byte) side;
+    }
+
+    /**
+     * Finds the slot of a disc. The cell must be in the table.
+     *
+     * @param key The cell index
+     * @return The slot holding the cell
+     */
+    private int find(long key) {
+        int mask = this.keys.length - 1;
+        int slot = slot(key, mask);
+        while (this.keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Removes a disc from the table, moving later entries of its probe run back so lookups still find them.
+     *
+     * @param key The cell index, which must be in the table
+     */
+    private void remove(long key) {
+        int mask = this.keys.length - 1;
+        int hole = this.find(key);
+        int slot = (hole + 1) & mask;
+        while (this.keys[slot] != EMPTY) {
+            int home = slot(this.keys[slot], mask);
+            // move the entry into the hole unless its home slot lies after the hole in the run
+            if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                this.keys[hole] = this.keys[slot];
+                this.sides[hole] = this.sides[slot];
+                hole = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        this.keys[hole] = EMPTY;
+    }
+
+    /**
+     * Moves every disc into a table of a new size.
+     *
+     * @param capacity The new number of slots, a power of two
+     */
+    private void resize(int capacity) {
+        long[] oldKeys = this.keys;
+        byte[] oldSides = this.sides;
+        this.keys = new long[capacity];
+        this.sides = new byte[capacity];
+        Arrays.fill(this.keys, EMPTY);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                this.insert(oldKeys[i], oldSides[i]);
+            }
+        }
+    }
+
+    /**
+     * Gets the home slot of a cell by mixing the bits of its index.
+     *
+     * @param key The cell index
+     * @param mask The number of slots minus one
+     * @return The slot to start probing at
+     */
+    private static int slot(long key, int mask) {
+        long z = key * 0x9E3779B97F4A7C15L;
+        return (int) (z ^ (z >>> 32)) & mask;
+    }
+}
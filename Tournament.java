@@ -0,0 +1,186 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Plays many headless games between two kinds of player on a pool of worker threads.
+ *
+ * <p>Players keep state between moves and are not thread-safe, so every worker makes its own pair of
+ * players from the suppliers and plays on its own board. Worker i plays games i, i + threads, i + 2 * threads
+ * and so on, so workers never coordinate over which game to play next. The first player alternates with the
+ * game number, and results are tallied in {@link LongAdder} counters so workers do not contend on them.
+ *
+ * @author Caleb Brost
+ * @version 1.0
+ * @since 2025
+ */
+public class Tournament {
+    private final int rows;
+    private final int cols;
+    private final Supplier<Player> playerA;
+    private final Supplier<Player> playerB;
+    private final LongAdder winsA = new LongAdder();
+    private final LongAdder winsB = new LongAdder();
+    private final LongAdder draws = new LongAdder();
+
+    /**
+     * Constructor for the Tournament class.
+     *
+     * @param rows The number of rows on every board
+     * @param cols The number of columns on every board
+     * @param playerA Makes a new player A for each worker
+     * @param playerB Makes a new player B for each worker
+     */
+    public Tournament(int rows, int cols, Supplier<Player> playerA, Supplier<Player> playerB) {
+        this.rows = rows;
+        this.cols = cols;
+        this.playerA = playerA;
+        this.playerB = playerB;
+    }
+
+    /**
+     * Plays a number of games and adds their results to the totals.
+     *
+     * @param games The number of games to play
+     * @param threads The number of worker threads
+     * @throws InterruptedException If the calling thread is interrupted while waiting for the workers
+     */
+    public void play(long games, int threads) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<Void>> workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                final int first = i;
+                workers.add(() -> {
+                    this.playShare(first, threads, games);
+                    return null;
+                });
+            }
+            for (Future<Void> result : pool.invokeAll(workers)) {
+                result.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A tournament game failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Plays every game of one worker on its own board with its own players, which are closed at the end.
+     *
+     * @param first The number of the first game to play
+     * @param step The distance between two games of this worker
+     * @param games The total number of games in the tournament
+     */
+    private void playShare(long first, int step, long games) {
+        Board board = new Board(this.rows, this.cols);
+        try (Player a = this.playerA.get(); Player b = this.playerB.get()) {
+            for (long game = first; game < games; game += step) {
+                board.initialize();
+                boolean aFirst = game % 2 == 0;
+                Player winner = aFirst ? HeadlessGame.play(board, a, b) : HeadlessGame.play(board, b, a);
+                if (winner == a) {
+                    this.winsA.increment();
+                } else if (winner == b) {
+                    this.winsB.increment();
+                } else {
+                    this.draws.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of games player A has won.
+     *
+     * @return The win count of player A
+     */
+    public long getWinsA() {
+        return this.winsA.sum();
+    }
+
+    /**
+     * Gets the number of games player B has won.
+     *
+     * @return The win count of player B
+     */
+    public long getWinsB() {
+        return this.winsB.sum();
+    }
+
+    /**
+     * Gets the number of games nobody won.
+     *
+     * @return The draw count
+     */
+    public long getDraws() {
+        return this.draws.sum();
+    }
+
+    /**
+     * Makes a supplier of players from a short description: random, rollout, negamax[:maxDepth],
+     * mcts[:millis] or anytime[:millis]. Rollout and MCTS players get consecutive seeds starting from the given
+     * seed.
+     *
+     * @param spec The description of the player
+     * @param seed The first seed to hand out
+     * @return A supplier that makes a new player on every call
+     */
+    public static Supplier<Player> players(String spec, long seed) {
+        String[] parts = spec.split(":");
+        AtomicLong seeds = new AtomicLong(seed);
+        switch (parts[0]) {
+            case "random":
+                return RandomPlayer::new;
+            case "rollout":
+                return () -> new RolloutPlayer(seeds.getAndIncrement());
+            case "negamax":
+                int depth = parts.length > 1 ? Integer.parseInt(parts[1]) : 8;
+                return () -> new NegamaxPlayer(depth);
+            case "mcts":
+                long millis = parts.length > 1 ? Long.parseLong(parts[1]) : 50;
+                return () -> new MctsPlayer(millis, Long.MAX_VALUE, 1, seeds.getAndIncrement());
+            case "anytime":
+                long budget = parts.length > 1 ? Long.parseLong(parts[1]) : 50;
+                return () -> new AnytimePlayer(budget);
+            default:
+                throw new IllegalArgumentException("Unknown player: " + spec);
+        }
+    }
+
+    /**
+     * Runs a tournament from the command line and prints the results and games per second.
+     *
+     * @param args Optional games, threads, rows, cols, player A and player B
+     * @throws InterruptedException If the main thread is interrupted
+     */
+    public static void main(String[] args) throws InterruptedException {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 1000000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int rows = args.length > 2 ? Integer.parseInt(args[2]) : 6;
+        int cols = args.length > 3 ? Integer.parseInt(args[3]) : 7;
+        String specA = args.length > 4 ? args[4] : "rollout";
+        String specB = args.length > 5 ? args[5] : "rollout";
+
+        Tournament tournament = new Tournament(rows, cols, players(specA, 1), players(specB, 1000001));
+        long start = System.nanoTime();
+        tournament.play(games, threads);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%s vs %s on %d x %d, %d games on %d threads%n", specA, specB, rows, cols, games, threads);
+        System.out.printf("A wins: %d, B wins: %d, draws: %d%n",
+            tournament.getWinsA(), tournament.getWinsB(), tournament.getDraws());
+        System.out.printf("%.2f s (%.0f games/sec)%n", seconds, games / seconds);
+        if (Metrics.ENABLED) {
+            System.out.print(Metrics.snapshot());
+        }
+    }
+}
@@ -0,0 +1,246 @@
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Represents a fixed-size cache of search results keyed by position.
+ *
+ * <p>Each slot holds two longs: a single long that packs the score, the depth it was searched to, whether the
+ * score is exact or a bound, and the best column found, and next to it the position key xored with that
+ * packed long. Slots come in buckets of two, and a key can only live in its own bucket.
+ *
+ * <p>Once the table is full, new results replace old ones like this: the first slot of a bucket keeps the
+ * deepest result, and is only overwritten by a result for the same position or one searched at least as deep.
+ * Anything else goes into the second slot, which always takes the newest result. Deep results that were
+ * expensive to find survive a flood of shallow ones, while shallow results still get cached.
+ *
+ * <p>The table can be shared by several search threads without locks. Each long is read and written as a
+ * whole, and a reader only accepts an entry if the key it recovers by xoring the two longs matches. When two
+ * threads write the same slot at once and a reader sees one thread's key with the other's entry, the xor does
+ * not match and the read is treated as a miss, so a torn slot can never hand back another position's result.
+ *
+ * <p>A table can also live in a memory-mapped file with {@link #mapped}. It then survives restarts, and several
+ * processes on one host can map the same file and share it under the same rules as threads do.
+ *
+ * @author Caleb Brost
+ * @version 1.0
+ * @since 2025
+ */
+final class TranspositionTable {
+    static final int EXACT = 1;
+    static final int LOWER = 2;
+    static final int UPPER = 3;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final int SLOT_BYTES = 16;
+    private static final int BUCKET_BYTES = 2 * SLOT_BYTES;
+    private static final long MAGIC = 0x4334545461626C65L; // "C4TTable"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+
+    private final ByteBuffer slots;
+    private final int base; // byte offset of the first bucket
+    private final int mask; // bucket count minus one
+    private final boolean readOnly;
+
+    /**
+     * Creates an empty table in memory.
+     *
+     * @param sizeBits The table holds 2 to the power of sizeBits entries
+     */
+    TranspositionTable(int sizeBits) {
+        this(ByteBuffer.allocateDirect(SLOT_BYTES << sizeBits), 0, sizeBits, false);
+    }
+
+    /**
+     * Creates a table over a buffer.
+     *
+     * @param slots The buffer holding the buckets
+     * @param base The byte offset of the first bucket
+     * @param sizeBits The table holds 2 to the power of sizeBits entries
+     * @param readOnly Whether stores should be ignored
+     */
+    private TranspositionTable(ByteBuffer slots, int base, int sizeBits, boolean readOnly) {
+        if (sizeBits < 1 || SLOT_BYTES * (1L << sizeBits) + base > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Unsupported table size: 2^" + sizeBits + " entries");
+        }
+        this.slots = slots;
+        this.base = base;
+        this.mask = (1 << (sizeBits - 1)) - 1;
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * Opens a table stored in a file, creating the file if it does not exist. The file starts with a header
+     * recording the board size and table size it was built for, since the position keys of one board size mean
+     * nothing on another.
+     *
+     * @param file The file holding the table
+     * @param rows The number of rows of the boards searched
+     * @param cols The number of columns of the boards searched
+     * @param sizeBits The table holds 2 to the power of sizeBits entries
+     * @param readOnly Whether to map the file read-only and ignore stores
+     * @return The table backed by the file
+     * @throws IOException If the file can not be mapped or was built for a different board or table size
+     */
+    static TranspositionTable mapped(Path file, int rows, int cols, int sizeBits, boolean readOnly) throws IOException {
+        long bytes = HEADER_BYTES + ((long) SLOT_BYTES << sizeBits);
+        StandardOpenOption[] options = readOnly
+            ? new StandardOpenOption[] {StandardOpenOption.READ}
+            : new StandardOpenOption[] {StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE};
+        try (FileChannel channel = FileChannel.open(file, options)) {
+            boolean created = channel.size() == 0;
+            if (created && readOnly) {
+                throw new IOException("No table to read in " + file);
+            }
+            MappedByteBuffer buffer = channel.map(readOnly ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE, 0, bytes);
+            buffer.order(ByteOrder.nativeOrder());
+            if (created) {
+                buffer.putInt(12, rows).putInt(16, cols).putInt(20, sizeBits).putInt(8, VERSION).putLong(0, MAGIC);
+            } else if (buffer.getLong(0) != MAGIC || buffer.getInt(8) != VERSION) {
+                throw new IOException(file + " is not a transposition table");
+            } else if (buffer.getInt(12) != rows || buffer.getInt(16) != cols || buffer.getInt(20) != sizeBits) {
+                throw new IOException(file + " was built for a " + buffer.getInt(12) + " x " + buffer.getInt(16)
+                    + " board with 2^" + buffer.getInt(20) + " entries");
+            }
+            return new TranspositionTable(buffer, HEADER_BYTES, sizeBits, readOnly);
+        }
+    }
+
+    /**
+     * Looks up the entry stored for a position.
+     *
+     * @param key The position key
+     * @return The packed entry, or 0 if the position is not in the table
+     */
+    long probe(long key) {
+        int offset = this.bucket(key);
+        long entry = this.read(offset, key);
+        return entry != 0 ? entry : this.read(offset + SLOT_BYTES, key);
+    }
+
+    /**
+     * Stores a search result for a position, following the replacement rules of the table.
+     * Stores to a read-only table are ignored.
+     *
+     * @param key The position key
+     * @param score The score of the position for the player to move
+     * @param depth The depth the position was searched to
+     * @param flag EXACT, LOWER or UPPER
+     * @param move The best column found, or -1 if there is none
+     */
+    void store(long key, int score, int depth, int flag, int move) {
+        if (this.readOnly) {
+            return;
+        }
+        int offset = this.bucket(key);
+        long entry = pack(score, depth, flag, move);
+        long deepest = (long) LONGS.getOpaque(this.slots, offset + 8);
+        long deepestKey = (long) LONGS.getOpaque(this.slots, offset) ^ deepest;
+        if (deepest != 0 && deepestKey != key && depth(deepest) > depth) {
+            offset += SLOT_BYTES; // keep the deeper result and use the always-replace slot
+        }
+        LONGS.setOpaque(this.slots, offset, key ^ entry);
+        LONGS.setOpaque(this.slots, offset + 8, entry);
+    }
+
+    /**
+     * Removes every entry from the table.
+     */
+    void clear() {
+        for (int offset = this.base; offset < this.slots.capacity(); offset += 8) {
+            LONGS.setOpaque(this.slots, offset, 0L);
+        }
+    }
+
+    /**
+     * Writes the table out to its file if it lives in one.
+     */
+    void flush() {
+        if (this.slots instanceof MappedByteBuffer && !this.readOnly) {
+            ((MappedByteBuffer) this.slots).force();
+        }
+    }
+
+    /**
+     * Reads one slot and checks that it holds a position.
+     *
+     * @param offset The byte offset of the slot
+     * @param key The position key
+     * @return The packed entry, or 0 if the slot holds another position
+     */
+    private long read(int offset, long key) {
+        long entry = (long) LONGS.getOpaque(this.slots, offset + 8);
+        long check = (long) LONGS.getOpaque(this.slots, offset);
+        return (check ^ entry) == key ? entry : 0L;
+    }
+
+    /**
+     * Packs a search result into a single long. The flag is never 0, so neither is a packed entry.
+     *
+     * @param score The score of the position
+     * @param depth The depth the position was searched to
+     * @param flag EXACT, LOWER or UPPER
+     * @param move The best column found, or -1
+     * @return The packed entry
+     */
+    static long pack(int score, int depth, int flag, int move) {
+        return ((long) score << 32) | ((depth & 0xFFFFL) << 16) | ((flag & 0xFFL) << 8) | ((move + 1) & 0xFFL);
+    }
+
+    /**
+     * Gets the score of a packed entry.
+     *
+     * @param entry The packed entry
+     * @return The score
+     */
+    static int score(long entry) {
+        return (int) (entry >> 32);
+    }
+
+    /**
+     * Gets the search depth of a packed entry.
+     *
+     * @param entry The packed entry
+     * @return The depth
+     */
+    static int depth(long entry) {
+        return (int) ((entry >>> 16) & 0xFFFF);
+    }
+
+    /**
+     * Gets the bound type of a packed entry.
+     *
+     * @param entry The packed entry
+     * @return EXACT, LOWER or UPPER
+     */
+    static int flag(long entry) {
+        return (int) ((entry >>> 8) & 0xFF);
+    }
+
+    /**
+     * Gets the best column of a packed entry.
+     *
+     * @param entry The packed entry
+     * @return The column index, or -1 if none was stored
+     */
+    static int move(long entry) {
+        return (int) (entry & 0xFF) - 1;
+    }
+
+    /**
+     * Spreads a key over the table so that neighbouring positions do not share buckets.
+     *
+     * @param key The position key
+     * @return The byte offset of the bucket
+     */
+    private int bucket(long key) {
+        return this.base + (((int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & this.mask) * BUCKET_BYTES);
+    }
+}
@@ -0,0 +1,214 @@
+import java.util.Arrays;
+
+/**
+ * Represents a connect-N board of any size packed into two arrays of 64-bit words, one per player.
+ *
+ * <p>The layout is the one of {@link BitBoard} spread over as many words as it takes: each column takes up
+ * rows + 1 bits starting from the bottom cell, and the extra bit on top of every column is never set, so a line
+ * can not carry over from one column into the next. Bit i of the board is bit i % 64 of word i / 64.
+ *
+ * <p>A win is checked with the same shift-and-mask test as the single bitboard, but only on the words within
+ * reach of the last disc: for each direction, a window of 64 possible line starts at a time is ANDed with
+ * itself shifted one cell further along the line, N times. When every line through the disc fits in one
+ * word, as it does for columns, the word is ANDed with itself at doubling distances instead. The number of
+ * words touched depends on the win length and the height of a column, not on the number of cells, so checking
+ * a move costs about the same on a 100 x 100 board as on a small one.
+ *
+ * @author Caleb Brost
+ * @version 1.0
+ * @since 2025
+ */
+final class WideBitBoard implements DiscStore {
+    private final int rows;
+    private final int cols;
+    private final int stride; // bits used by one column
+    private final int connect; // discs in a row needed to win
+    private final long[][] discs; // one mask per player
+    private final int[] heights; // number of discs in each column
+    private int moves;
+
+    /**
+     * Creates an empty board.
+     *
+     * @param rows The number of rows on the board
+     * @param cols The number of columns on the board
+     * @param connect The number of discs in a row needed to win
+     */
+    WideBitBoard(int rows, int cols, int connect) {
+        this.rows = rows;
+        this.cols = cols;
+        this.stride = rows + 1;
+        this.connect = connect;
+        int words = (int) (((long) this.stride * cols + Long.SIZE - 1) / Long.SIZE);
+        this.discs = new long[2][words];
+        this.heights = new int[cols];
+    }
+
+    /**
+     * Gets the number of discs in a column.
+     *
+     * @param col The column index
+     * @return The number of discs played in the column
+     */
+    @Override
+    public int height(int col) {
+        return this.heights[col];
+    }
+
+    /**
+     * Checks whether a column is full.
+     *
+     * @param col The column index
+     * @return Returns true if no more discs fit into the column
+     */
+    @Override
+    public boolean isColumnFull(int col) {
+        return this.heights[col] == this.rows;
+    }
+
+    /**
+     * Checks whether every cell on the board holds a disc.
+     *
+     * @return Returns true if the board is full
+     */
+    @Override
+    public boolean isFull() {
+        return this.moves == (long) this.rows * this.cols;
+    }
+
+    /**
+     * Drops a disc for a player on top of a column. The column must not be full.
+     *
+     * @param col The column index
+     * @param side The player index, 0 or 1
+     */
+    @Override
+    public void play(int col, int side) {
+        long bit = (long) col * this.stride + this.heights[col];
+        this.discs[side][(int) (bit >>> 6)] |= 1L << bit;
+        this.heights[col]++;
+        this.moves++;
+    }
+
+    /**
+     * Takes the top disc back out of a column. The column must not be empty.
+     *
+     * @param col The column index
+     */
+    @Override
+    public void undo(int col) {
+        this.heights[col]--;
+        this.moves--;
+        long bit = (long) col * this.stride + this.heights[col];
+        int word = (int) (bit >>> 6);
+        this.discs[0][word] &= ~(1L << bit);
+        this.discs[1][word] &= ~(1L << bit);
+    }
+
+    /**
+     * Gets the player index of the disc at a location.
+     *
+     * @param row The row index, where row 0 is the top of the board
+     * @param col The column index
+     * @return The player index 0 or 1, or -1 if the cell is empty
+     */
+    @Override
+    public int get(int row, int col) {
+        long bit = (long) col * this.stride + (this.rows - 1 - row);
+        int word = (int) (bit >>> 6);
+        if ((this.discs[0][word] & (1L << bit)) != 0) {
+            return 0;
+        }
+        if ((this.discs[1][word] & (1L << bit)) != 0) {
+            return 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Checks whether a player has a line of N discs within reach of a cell, which after a move tells whether
+     * the disc just played won the game.
+     *
+     * @param row The row index of the cell, where row 0 is the top of the board
+     * @param col The column index of the cell
+     * @param side The player index, 0 or 1
+     * @return Returns true if the player has N in a row through or next to the cell
+     */
+    @Override
+    public boolean connected(int row, int col, int side) {
+        long[] mask = this.discs[side];
+        long bit = (long) col * this.stride + (this.rows - 1 - row);
+        return this.aligned(mask, bit, 1) // vertical
+            || this.aligned(mask, bit, this.stride) // horizontal
+            || this.aligned(mask, bit, this.stride - 1) // diagonal going down to the right
+            || this.aligned(mask, bit, this.stride + 1); // diagonal going up to the right
+    }
+
+    /**
+     * Removes every disc from the board.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(this.discs[0], 0L);
+        Arrays.fill(this.discs[1], 0L);
+        Arrays.fill(this.heights, 0);
+        this.moves = 0;
+    }
+
+    /**
+     * Checks for N set bits spaced evenly apart that could pass through a bit, 64 line starts at a time.
+     *
+     * @param mask The discs of a single player
+     * @param bit The bit index of the cell
+     * @param shift The distance in bits between two neighbouring cells in one direction
+     * @return Returns true if N neighbouring cells are set
+     */
+    private boolean aligned(long[] mask, long bit, int shift) {
+        long span = (long) (this.connect - 1) * shift;
+        long first = Math.max(0, bit - span); // lowest start of a line reaching the bit
+        if (2 * span < Long.SIZE) {
+            // every line through the bit fits in one window, so double the run length like the single bitboard
+            long run = window(mask, first);
+            for (int length = 1; length < this.connect && run != 0; ) {
+                int step = Math.min(length, this.connect - length);
+                run &= run >>> (step * shift);
+                length += step;
+            }
+            return (run & ((2L << (bit - first)) - 1)) != 0;
+        }
+        for (long start = first; start <= bit; start += Long.SIZE) {
+            long run = -1L;
+            for (int k = 0; k < this.connect && run != 0; k++) {
+                run &= window(mask, start + (long) k * shift);
+            }
+            long last = bit - start; // lines starting after the bit can not reach it
+            if (last < Long.SIZE - 1) {
+                run &= (2L << last) - 1;
+            }
+            if (run != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets 64 bits of a mask starting at any bit, reading across two words when needed.
+     *
+     * @param mask The words of the mask
+     * @param bit The index of the lowest bit to get
+     * @return The bits, with bits past the end of the mask cleared
+     */
+    private static long window(long[] mask, long bit) {
+        int word = (int) (bit >>> 6);
+        if (word >= mask.length) {
+            return 0L;
+        }
+        int offset = (int) bit & (Long.SIZE - 1);
+        long bits = mask[word] >>> offset;
+        if (offset != 0 && word + 1 < mask.length) {
+            bits |= mask[word + 1] << (Long.SIZE - offset);
+        }
+        return bits;
+    }
+}